@@ -0,0 +1,27 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.SQLException;
+
+public class V5__create_task_sequence extends BaseJavaMigration {
+    // must match the allocationSize of the tasks_seq generator on Task
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        long maxId;
+        try (var statement = context.getConnection().createStatement();
+             var resultSet = statement.executeQuery("select coalesce(max(id), 0) from tasks")) {
+            resultSet.next();
+            maxId = resultSet.getLong(1);
+        }
+
+        // the pooled optimizer treats each value as the top of a block, so the first block must start above max(id)
+        var start = maxId + ALLOCATION_SIZE;
+        try (var statement = context.getConnection().createStatement()) {
+            statement.execute("create sequence tasks_seq start with " + start + " increment by " + ALLOCATION_SIZE);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package db.migration;
+
+import hexlet.code.util.RankKeys;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class V6__add_task_rank extends BaseJavaMigration {
+    private static final int BATCH_SIZE = 500;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        var connection = context.getConnection();
+        try (var statement = connection.createStatement()) {
+            statement.execute("alter table tasks add column rank varchar(255)");
+        }
+
+        // ranks take over the board order that index and id used to give
+        Map<Long, List<Long>> columns = new LinkedHashMap<>();
+        try (var statement = connection.createStatement();
+             var resultSet = statement.executeQuery(
+                 "select id, status_id from tasks order by status_id, index nulls last, id")) {
+            while (resultSet.next()) {
+                columns.computeIfAbsent(resultSet.getLong(2), statusId -> new ArrayList<>())
+                       .add(resultSet.getLong(1));
+            }
+        }
+
+        try (var statement = connection.prepareStatement("update tasks set rank = ? where id = ?")) {
+            var pending = 0;
+            for (var ids : columns.values()) {
+                var ranks = RankKeys.spread(ids.size());
+                for (var i = 0; i < ids.size(); i++) {
+                    statement.setString(1, ranks.get(i));
+                    statement.setLong(2, ids.get(i));
+                    statement.addBatch();
+                    if (++pending % BATCH_SIZE == 0) {
+                        statement.executeBatch();
+                    }
+                }
+            }
+            statement.executeBatch();
+        }
+
+        try (var statement = connection.createStatement()) {
+            statement.execute("create index idx_tasks_status_rank on tasks (status_id, rank, id)");
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package hexlet.code.cache;
+
+import com.typesafe.config.ConfigFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+
+import javax.cache.CacheManager;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.net.MalformedURLException;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Reads the statistics the JCache regions keep themselves (monitoring.statistics in hibernate-cache.conf),
+// so the gauges exist without turning on Hibernate's own statistics.
+@Component
+@RequiredArgsConstructor
+public class HibernateCacheMetrics implements MeterBinder {
+    private static final String CONFIG_PATH = "caffeine.jcache";
+    private static final String DEFAULT_CONFIG = "default";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        var regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                                                .getCache()
+                                                .getRegionFactory();
+        if (!(regionFactory instanceof JCacheRegionFactory jcacheRegionFactory)) {
+            return;
+        }
+
+        var server = ManagementFactory.getPlatformMBeanServer();
+        var cacheManager = jcacheRegionFactory.getCacheManager();
+        for (var region : regionNames(cacheManager)) {
+            var objectName = statisticsName(cacheManager.getURI().toString(), region);
+            Gauge.builder("hibernate.cache.hit.ratio", objectName, name -> hitRatio(server, name))
+                 .strongReference(true)
+                 .tag("region", region)
+                 .description("Share of second-level cache lookups answered from the cache")
+                 .register(registry);
+        }
+    }
+
+    // query regions are only created on first use, so the ones configured for them are added up front
+    private static Set<String> regionNames(CacheManager cacheManager) {
+        Set<String> names = new TreeSet<>();
+        cacheManager.getCacheNames().forEach(names::add);
+        try {
+            names.addAll(ConfigFactory.parseURL(cacheManager.getURI().toURL()).getObject(CONFIG_PATH).keySet());
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+        names.remove(DEFAULT_CONFIG);
+        return names;
+    }
+
+    // the name the JSR-107 statistics MXBean is registered under
+    private static ObjectName statisticsName(String cacheManager, String cache) {
+        try {
+            return new ObjectName("javax.cache:type=CacheStatistics,CacheManager=" + sanitize(cacheManager)
+                + ",Cache=" + sanitize(cache));
+        } catch (JMException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String sanitize(String value) {
+        return value.replaceAll("[,:=\n]", ".");
+    }
+
+    private static double hitRatio(MBeanServer server, ObjectName name) {
+        try {
+            var hits = (Long) server.getAttribute(name, "CacheHits");
+            var lookups = hits + (Long) server.getAttribute(name, "CacheMisses");
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        } catch (JMException e) {
+            return Double.NaN;
+        }
+    }
+}
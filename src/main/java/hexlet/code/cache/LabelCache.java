@@ -0,0 +1,69 @@
+package hexlet.code.cache;
+
+import hexlet.code.model.Label;
+import hexlet.code.repository.LabelRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class LabelCache implements ApplicationRunner {
+    private final LabelRepository labelRepository;
+    private final Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ids.addAll(labelRepository.findAllIds());
+    }
+
+    // a miss is checked against the database, the label may come from another instance or outside JPA
+    public List<Long> findUnknown(Set<Long> labelIds) {
+        var missing = labelIds.stream()
+                              .filter(id -> id == null || !ids.contains(id))
+                              .toList();
+        if (missing.isEmpty()) {
+            return missing;
+        }
+
+        var found = labelRepository.findIdsByIdIn(missing.stream().filter(Objects::nonNull).toList());
+        ids.addAll(found);
+        return missing.stream()
+                      .filter(id -> id == null || !found.contains(id))
+                      .toList();
+    }
+
+    public Set<Label> getReferences(Set<Long> labelIds) {
+        var unknown = findUnknown(labelIds);
+        if (!unknown.isEmpty()) {
+            throw new EntityNotFoundException("Labels not found: " + unknown);
+        }
+        return labelIds.stream()
+                       .map(LabelCache::reference)
+                       .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    public void add(Long id) {
+        ids.add(id);
+    }
+
+    public void remove(Long id) {
+        ids.remove(id);
+    }
+
+    // a detached instance carrying only the id is enough to write task_label rows, unlike a proxy it never loads
+    private static Label reference(Long id) {
+        var label = new Label();
+        label.setId(id);
+        return label;
+    }
+}
@@ -0,0 +1,49 @@
+package hexlet.code.cache;
+
+import hexlet.code.model.Label;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+@RequiredArgsConstructor
+public class LabelCacheListener {
+    private final ObjectProvider<LabelCache> labelCache;
+
+    // a new id is only trusted once committed, a rolled back label must not be accepted by other requests
+    @PostPersist
+    public void onLabelPersisted(Label label) {
+        var id = label.getId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            labelCache.ifAvailable(cache -> cache.add(id));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                labelCache.ifAvailable(cache -> cache.add(id));
+            }
+        });
+    }
+
+    // a removal is visible right away to the writing transaction and reverted if it rolls back
+    @PostRemove
+    public void onLabelRemoved(Label label) {
+        var id = label.getId();
+        labelCache.ifAvailable(cache -> cache.remove(id));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        labelCache.ifAvailable(cache -> cache.add(id));
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package hexlet.code.cache;
+
+import hexlet.code.model.Status;
+import hexlet.code.repository.StatusRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class StatusCache implements ApplicationRunner {
+    private final StatusRepository statusRepository;
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        reload();
+    }
+
+    public Optional<Status> getBySlug(String slug) {
+        if (slug == null) {
+            return Optional.empty();
+        }
+        return lookup(current -> current.bySlug().get(slug));
+    }
+
+    public Optional<Status> getById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return lookup(current -> current.byId().get(id));
+    }
+
+    public Collection<Status> getAll() {
+        var current = snapshot != null ? snapshot : reload();
+        return current.byId().values().stream()
+                      .map(StatusCache::copy)
+                      .toList();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Optional<Status> lookup(Function<Snapshot, Status> finder) {
+        var current = snapshot;
+        var status = current != null ? finder.apply(current) : null;
+        if (status == null) {
+            // statuses are few, so a miss reloads all of them instead of querying a single one
+            status = finder.apply(reload());
+        }
+        return Optional.ofNullable(status).map(StatusCache::copy);
+    }
+
+    private Snapshot reload() {
+        var loadedAt = generation.get();
+        var loaded = Snapshot.of(statusRepository.findAll());
+        if (generation.get() == loadedAt) {
+            snapshot = loaded;
+        }
+        return loaded;
+    }
+
+    // callers get their own detached copy so that nobody can mutate the cached instance
+    private static Status copy(Status status) {
+        var copy = new Status(status.getName(), status.getSlug());
+        copy.setId(status.getId());
+        copy.setCreatedAt(status.getCreatedAt());
+        return copy;
+    }
+
+    private record Snapshot(Map<String, Status> bySlug, Map<Long, Status> byId) {
+        static Snapshot of(List<Status> statuses) {
+            return new Snapshot(
+                statuses.stream().collect(Collectors.toUnmodifiableMap(Status::getSlug, Function.identity())),
+                statuses.stream().collect(Collectors.toUnmodifiableMap(Status::getId, Function.identity()))
+            );
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package hexlet.code.cache;
+
+import hexlet.code.model.Status;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+@RequiredArgsConstructor
+public class StatusCacheListener {
+    private final ObjectProvider<StatusCache> statusCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onStatusChanged(Status status) {
+        statusCache.ifAvailable(StatusCache::invalidate);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // a concurrent reload may have seen the old row before the commit
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    statusCache.ifAvailable(StatusCache::invalidate);
+                }
+            });
+        }
+    }
+}
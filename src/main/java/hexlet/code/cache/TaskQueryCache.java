@@ -0,0 +1,99 @@
+package hexlet.code.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hexlet.code.config.TaskProperties;
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskPage;
+import hexlet.code.event.LabelChangedEvent;
+import hexlet.code.event.StatusChangedEvent;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.event.TasksBulkChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+@Component
+public class TaskQueryCache {
+    private final boolean enabled;
+    private final Cache<TaskQueryKey, TaskPage> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public TaskQueryCache(TaskProperties taskProperties, MeterRegistry meterRegistry) {
+        var properties = taskProperties.getCache();
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                             .maximumSize(properties.getMaxSize())
+                             .expireAfterWrite(properties.getTtl())
+                             .recordStats()
+                             .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "tasks.query");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public TaskPage get(TaskQueryKey key, Supplier<TaskPage> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        var cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // a write committed while loading makes the result unsafe to keep
+        var loadedAt = generation.get();
+        var page = loader.get();
+        if (generation.get() == loadedAt) {
+            cache.asMap().putIfAbsent(key, page);
+        }
+        return page;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        invalidate(key -> key.matches(event.getBefore()) || key.matches(event.getAfter()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(StatusChangedEvent event) {
+        invalidate(key -> key.references(event.getOldSlug()) || key.references(event.getNewSlug()));
+        cache.asMap().entrySet().removeIf(entry -> containsStatus(entry.getValue(), event.getOldSlug()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksBulkChanged(TasksBulkChangedEvent event) {
+        invalidate(key -> true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLabelChanged(LabelChangedEvent event) {
+        invalidate(key -> key.references(event.getLabelId()));
+        cache.asMap().entrySet().removeIf(entry -> containsLabel(entry.getValue(), event.getLabelId()));
+    }
+
+    private void invalidate(Predicate<TaskQueryKey> affected) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(affected);
+    }
+
+    private static boolean containsStatus(TaskPage page, String slug) {
+        return page.getContent().stream()
+                   .map(TaskDTO::getStatus)
+                   .anyMatch(slug::equals);
+    }
+
+    private static boolean containsLabel(TaskPage page, Long labelId) {
+        return page.getContent().stream()
+                   .map(TaskDTO::getTaskLabelIds)
+                   .anyMatch(labelIds -> labelIds != null && labelIds.contains(labelId));
+    }
+}
@@ -0,0 +1,78 @@
+package hexlet.code.cache;
+
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskFilter;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class TaskQueryKey {
+    private final String titleCont;
+    private final String contentCont;
+    private final Long assigneeId;
+    private final String status;
+    private final Long labelId;
+    private final Set<Long> labelIds;
+    private final boolean matchAllLabels;
+    private final String after;
+    private final int offset;
+    private final int limit;
+
+    public static TaskQueryKey of(TaskFilter filter, String after, int offset, int limit) {
+        var labelIds = filter.getLabelIds() == null ? Set.<Long>of() : new TreeSet<>(filter.getLabelIds());
+        return new TaskQueryKey(
+            lower(filter.getTitleCont()),
+            lower(filter.getContentCont()),
+            filter.getAssigneeId(),
+            filter.getStatus(),
+            filter.getLabelId(),
+            labelIds,
+            filter.isMatchAllLabels() && labelIds.size() > 1,
+            after,
+            offset,
+            limit
+        );
+    }
+
+    public boolean matches(TaskDTO task) {
+        if (task == null) {
+            return false;
+        }
+
+        var labels = task.getTaskLabelIds() == null ? Set.<Long>of() : task.getTaskLabelIds();
+        return contains(task.getTitle(), titleCont)
+            && contains(task.getContent(), contentCont)
+            && (assigneeId == null || assigneeId.equals(task.getAssigneeId()))
+            && (status == null || status.equals(task.getStatus()))
+            && (labelId == null || labels.contains(labelId))
+            && (labelIds.isEmpty() || (matchAllLabels
+                ? labels.containsAll(labelIds)
+                : labelIds.stream().anyMatch(labels::contains)));
+    }
+
+    public boolean references(String statusSlug) {
+        return statusSlug.equals(status);
+    }
+
+    public boolean references(Long label) {
+        return label.equals(labelId) || labelIds.contains(label);
+    }
+
+    private static boolean contains(String text, String part) {
+        return part == null || text != null && text.toLowerCase(Locale.ROOT).contains(part);
+    }
+
+    private static String lower(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+}
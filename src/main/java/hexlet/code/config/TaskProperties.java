@@ -0,0 +1,105 @@
+package hexlet.code.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "tasks")
+@Getter
+@Setter
+public class TaskProperties {
+    private Pagination pagination = new Pagination();
+    private Streaming streaming = new Streaming();
+    private Search search = new Search();
+    private ReadModel readModel = new ReadModel();
+    private Cache cache = new Cache();
+    private Stats stats = new Stats();
+    private Board board = new Board();
+    private Batch batch = new Batch();
+    private Concurrency concurrency = new Concurrency();
+    private Rank rank = new Rank();
+    private Imports imports = new Imports();
+
+    @Getter
+    @Setter
+    public static class Pagination {
+        private int defaultLimit = 100;
+        private int maxLimit = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Streaming {
+        private int fetchSize = 500;
+    }
+
+    @Getter
+    @Setter
+    public static class Search {
+        private boolean enabled = true;
+        private int maxCandidates = 5000;
+        private Duration reloadInterval = Duration.ofMinutes(10);
+        private Duration clockSkew = Duration.ofMinutes(1);
+    }
+
+    @Getter
+    @Setter
+    public static class ReadModel {
+        private boolean enabled;
+        private Duration compactInterval = Duration.ofSeconds(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled;
+        private long maxSize = 1000;
+        private Duration ttl = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Stats {
+        private Duration reconcileInterval = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Board {
+        private int columnLimit = 20;
+        private int maxColumnLimit = 200;
+    }
+
+    @Getter
+    @Setter
+    public static class Batch {
+        private int maxSize = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Concurrency {
+        private int maxRetries = 3;
+        private Duration retryBackoff = Duration.ofMillis(20);
+    }
+
+    @Getter
+    @Setter
+    public static class Rank {
+        private int maxLength = 32;
+        private Duration rebalanceInterval = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Imports {
+        private int chunkSize = 1000;
+        private int maxErrors = 100;
+        private int maxRowLength = 1 << 20;
+        private int retained = 50;
+    }
+}
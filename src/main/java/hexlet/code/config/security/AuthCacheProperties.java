@@ -0,0 +1,17 @@
+package hexlet.code.config.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "auth.cache")
+@Setter
+@Getter
+public class AuthCacheProperties {
+    private long maxSize = 1_000;
+    private Duration ttl = Duration.ofSeconds(60);
+}
@@ -0,0 +1,97 @@
+package hexlet.code.config.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hexlet.code.event.UserChangedEvent;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Remembers successful username/password checks for a short while, so repeated Basic credentials skip the user
+// lookup and BCrypt. Keys are HMACs under a per-process secret, so the cache never holds a guessable password digest.
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final AuthenticationProvider delegate;
+    private final SecretKeySpec secret;
+    private final Cache<String, Authentication> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, long maxSize, Duration ttl) {
+        this.delegate = delegate;
+        var bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        this.secret = new SecretKeySpec(bytes, HMAC_ALGORITHM);
+        this.cache = Caffeine.newBuilder()
+                             .maximumSize(maxSize)
+                             .expireAfterWrite(ttl)
+                             .build();
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (!(authentication.getCredentials() instanceof String password)) {
+            return delegate.authenticate(authentication);
+        }
+
+        var key = keyOf(authentication.getName(), password);
+        var cached = cache.getIfPresent(key);
+        if (cached != null) {
+            var result = UsernamePasswordAuthenticationToken.authenticated(
+                cached.getPrincipal(), null, cached.getAuthorities());
+            result.setDetails(authentication.getDetails());
+            return result;
+        }
+
+        var generation = invalidations.get();
+        var result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated()) {
+            cache.put(key, result);
+            // a user change that raced with the delegate may have loaded the old password, so drop what it produced
+            if (generation != invalidations.get()) {
+                cache.invalidate(key);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    public void invalidate(String username) {
+        invalidations.incrementAndGet();
+        cache.asMap().values().removeIf(authentication -> authentication.getName().equals(username));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.getEmail());
+    }
+
+    private String keyOf(String username, String password) {
+        try {
+            var mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(secret);
+            var name = username.getBytes(StandardCharsets.UTF_8);
+            mac.update(ByteBuffer.allocate(Integer.BYTES).putInt(name.length).array());
+            mac.update(name);
+            return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
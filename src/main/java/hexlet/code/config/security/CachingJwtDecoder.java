@@ -0,0 +1,83 @@
+package hexlet.code.config.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+// Only tokens the delegate accepted are cached, and never past their exp, so a hit is as valid as a fresh decode.
+public class CachingJwtDecoder implements JwtDecoder, MeterBinder {
+    private static final String CACHE_NAME = "jwt";
+
+    private final JwtDecoder delegate;
+    private final Duration maxTtl;
+    private final Cache<String, Jwt> cache;
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maxSize, Duration maxTtl) {
+        this.delegate = delegate;
+        this.maxTtl = maxTtl;
+        this.cache = Caffeine.newBuilder()
+                             .maximumSize(maxSize)
+                             .expireAfter(new TokenExpiry())
+                             .recordStats()
+                             .build();
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        return cache.get(hash(token), key -> delegate.decode(token));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        Gauge.builder("jwt.cache.hit.ratio", cache, tokens -> tokens.stats().hitRate())
+             .description("Share of bearer tokens answered without verifying the signature")
+             .register(registry);
+    }
+
+    // keys are digests so that the heap holds no usable bearer tokens beyond the ones inside the cached Jwt values
+    private static String hash(String token) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final class TokenExpiry implements Expiry<String, Jwt> {
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            var ttl = maxTtl;
+            if (jwt.getExpiresAt() != null) {
+                var untilExpiry = Duration.between(Instant.now(), jwt.getExpiresAt());
+                ttl = untilExpiry.compareTo(ttl) < 0 ? untilExpiry : ttl;
+            }
+            return Math.max(ttl.toNanos(), 0);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
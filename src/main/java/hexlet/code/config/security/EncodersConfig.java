@@ -1,22 +1,22 @@
 package hexlet.code.config.security;
 
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
-import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.util.List;
 
 @Configuration
 @RequiredArgsConstructor
 public class EncodersConfig {
+    private static final String RSA_KEY_ID = "rsa";
+
     private final RsaKeyProperties rsaKeys;
+    private final JwtSigningProperties jwtSigningProperties;
+    private final JwtCacheProperties jwtCacheProperties;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -24,14 +24,35 @@ public class EncodersConfig {
     }
 
     @Bean
-    JwtEncoder jwtEncoder() {
-        var jwk = new RSAKey.Builder(rsaKeys.getPublicKey()).privateKey(rsaKeys.getPrivateKey()).build();
-        var jwks = new ImmutableJWKSet<>(new JWKSet(jwk));
-        return new NimbusJwtEncoder(jwks);
+    JwtKeyRing jwtKeyRing() {
+        if (jwtSigningProperties.getKeys().isEmpty()) {
+            var key = new JwtKey(RSA_KEY_ID, JwtAlgorithm.RS256, rsaKeys.getPublicKey(), rsaKeys.getPrivateKey());
+            return new JwtKeyRing(List.of(key), RSA_KEY_ID);
+        }
+
+        var keys = jwtSigningProperties.getKeys()
+                                       .stream()
+                                       .map(EncodersConfig::loadKey)
+                                       .toList();
+        return new JwtKeyRing(keys, jwtSigningProperties.getActiveKey());
+    }
+
+    @Bean
+    JwtEncoder jwtEncoder(JwtKeyRing jwtKeyRing) {
+        return new KeyRingJwtEncoder(jwtKeyRing);
     }
 
+    // declared as CachingJwtDecoder so the bean is also picked up as a MeterBinder
     @Bean
-    JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withPublicKey(rsaKeys.getPublicKey()).build();
+    CachingJwtDecoder jwtDecoder(JwtKeyRing jwtKeyRing) {
+        var decoder = new KeyRingJwtDecoder(jwtKeyRing);
+        return new CachingJwtDecoder(decoder, jwtCacheProperties.getMaxSize(), jwtCacheProperties.getMaxTtl());
+    }
+
+    private static JwtKey loadKey(JwtSigningProperties.Key key) {
+        var keyAlgorithm = key.getAlgorithm().getKeyAlgorithm();
+        var publicKey = PemKeys.readPublicKey(key.getPublicKey(), keyAlgorithm);
+        var privateKey = key.getPrivateKey() == null ? null : PemKeys.readPrivateKey(key.getPrivateKey(), keyAlgorithm);
+        return new JwtKey(key.getId(), key.getAlgorithm(), publicKey, privateKey);
     }
 }
@@ -0,0 +1,45 @@
+package hexlet.code.config.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+
+@Getter
+@RequiredArgsConstructor
+public enum JwtAlgorithm {
+    RS256(JWSAlgorithm.RS256, "RSA"),
+    ES256(JWSAlgorithm.ES256, "EC"),
+    EDDSA(JWSAlgorithm.EdDSA, "Ed25519");
+
+    private final JWSAlgorithm jwsAlgorithm;
+    private final String keyAlgorithm;
+
+    JWSSigner signer(PrivateKey privateKey) throws JOSEException {
+        return switch (this) {
+            case RS256 -> new RSASSASigner(privateKey);
+            case ES256 -> new ECDSASigner((ECPrivateKey) privateKey);
+            case EDDSA -> new JdkEdDsaSigner(privateKey);
+        };
+    }
+
+    JWSVerifier verifier(PublicKey publicKey) throws JOSEException {
+        return switch (this) {
+            case RS256 -> new RSASSAVerifier((RSAPublicKey) publicKey);
+            case ES256 -> new ECDSAVerifier((ECPublicKey) publicKey);
+            case EDDSA -> new JdkEdDsaVerifier(publicKey);
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package hexlet.code.config.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "jwt.cache")
+@Setter
+@Getter
+public class JwtCacheProperties {
+    private long maxSize = 10_000;
+    private Duration maxTtl = Duration.ofMinutes(10);
+}
@@ -0,0 +1,29 @@
+package hexlet.code.config.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import lombok.Getter;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+
+@Getter
+public class JwtKey {
+    private final String id;
+    private final JwtAlgorithm algorithm;
+    private final JWSVerifier verifier;
+    // null for keys that are only kept to verify tokens issued before a rotation
+    private final JWSSigner signer;
+
+    public JwtKey(String id, JwtAlgorithm algorithm, PublicKey publicKey, PrivateKey privateKey) {
+        this.id = id;
+        this.algorithm = algorithm;
+        try {
+            this.verifier = algorithm.verifier(publicKey);
+            this.signer = privateKey == null ? null : algorithm.signer(privateKey);
+        } catch (JOSEException | ClassCastException e) {
+            throw new IllegalArgumentException("Key " + id + " is not a valid " + algorithm + " key", e);
+        }
+    }
+}
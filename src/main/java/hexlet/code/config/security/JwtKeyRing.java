@@ -0,0 +1,39 @@
+package hexlet.code.config.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Tokens are signed with one active key and verified by the kid in their header against every configured key, so a
+// new key can be published before it becomes active and an old one kept until the tokens it signed have expired.
+public class JwtKeyRing {
+    private final Map<String, JwtKey> keys = new LinkedHashMap<>();
+    private final JwtKey signingKey;
+
+    public JwtKeyRing(List<JwtKey> keys, String signingKeyId) {
+        keys.forEach(key -> {
+            if (this.keys.putIfAbsent(key.getId(), key) != null) {
+                throw new IllegalArgumentException("Duplicate JWT key id: " + key.getId());
+            }
+        });
+
+        this.signingKey = this.keys.get(signingKeyId);
+        if (signingKey == null || signingKey.getSigner() == null) {
+            throw new IllegalArgumentException("Active JWT key " + signingKeyId + " has no private key configured");
+        }
+    }
+
+    public JwtKey getSigningKey() {
+        return signingKey;
+    }
+
+    public List<JwtKey> candidates(String keyId, JWSAlgorithm algorithm) {
+        // tokens issued before keys had ids carry no kid, any key of their algorithm may have signed them
+        var matches = keyId == null ? keys.values().stream() : keys.values().stream()
+                                                                   .filter(key -> key.getId().equals(keyId));
+        return matches.filter(key -> key.getAlgorithm().getJwsAlgorithm().equals(algorithm))
+                      .toList();
+    }
+}
@@ -0,0 +1,28 @@
+package hexlet.code.config.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "jwt.signing")
+@Setter
+@Getter
+public class JwtSigningProperties {
+    private String activeKey;
+    private List<Key> keys = new ArrayList<>();
+
+    @Setter
+    @Getter
+    public static class Key {
+        private String id;
+        private JwtAlgorithm algorithm = JwtAlgorithm.RS256;
+        private Resource publicKey;
+        private Resource privateKey;
+    }
+}
@@ -0,0 +1,65 @@
+package hexlet.code.config.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jwt.SignedJWT;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.MappedJwtClaimSetConverter;
+
+import java.text.ParseException;
+import java.util.Collections;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class KeyRingJwtDecoder implements JwtDecoder {
+    private final JwtKeyRing keyRing;
+    private final Converter<Map<String, Object>, Map<String, Object>> claimSetConverter =
+        MappedJwtClaimSetConverter.withDefaults(Collections.emptyMap());
+    private final OAuth2TokenValidator<Jwt> validator = JwtValidators.createDefault();
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        SignedJWT signed;
+        Map<String, Object> claims;
+        try {
+            signed = SignedJWT.parse(token);
+            claims = claimSetConverter.convert(signed.getJWTClaimsSet().toJSONObject());
+        } catch (ParseException e) {
+            throw new BadJwtException("Malformed token", e);
+        }
+
+        var header = signed.getHeader();
+        var verified = keyRing.candidates(header.getKeyID(), header.getAlgorithm())
+                              .stream()
+                              .anyMatch(key -> verify(signed, key));
+        if (!verified) {
+            throw new BadJwtException("Token is not signed by a known key");
+        }
+
+        var jwt = Jwt.withTokenValue(token)
+                     .headers(headers -> headers.putAll(header.toJSONObject()))
+                     .claims(values -> values.putAll(claims))
+                     .build();
+        var result = validator.validate(jwt);
+        if (result.hasErrors()) {
+            var description = result.getErrors().iterator().next().getDescription();
+            throw new JwtValidationException(description, result.getErrors());
+        }
+        return jwt;
+    }
+
+    private static boolean verify(SignedJWT signed, JwtKey key) {
+        try {
+            return signed.verify(key.getVerifier());
+        } catch (JOSEException e) {
+            return false;
+        }
+    }
+}
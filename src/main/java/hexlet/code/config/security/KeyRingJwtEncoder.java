@@ -0,0 +1,45 @@
+package hexlet.code.config.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtEncodingException;
+
+import java.time.Instant;
+import java.util.Date;
+
+// The key ring decides algorithm and kid, any JWS header passed in the parameters is ignored.
+@RequiredArgsConstructor
+public class KeyRingJwtEncoder implements JwtEncoder {
+    private final JwtKeyRing keyRing;
+
+    @Override
+    public Jwt encode(JwtEncoderParameters parameters) throws JwtEncodingException {
+        var key = keyRing.getSigningKey();
+        var claims = parameters.getClaims();
+
+        var header = new JWSHeader.Builder(key.getAlgorithm().getJwsAlgorithm())
+            .keyID(key.getId())
+            .type(JOSEObjectType.JWT)
+            .build();
+        var claimsSet = new JWTClaimsSet.Builder();
+        claims.getClaims().forEach((name, value) -> claimsSet.claim(name, value instanceof Instant instant
+            ? Date.from(instant)
+            : value));
+
+        var jwt = new SignedJWT(header, claimsSet.build());
+        try {
+            jwt.sign(key.getSigner());
+        } catch (JOSEException e) {
+            throw new JwtEncodingException("Failed to sign token with key " + key.getId(), e);
+        }
+        return new Jwt(jwt.serialize(), claims.getIssuedAt(), claims.getExpiresAt(), header.toJSONObject(),
+            claims.getClaims());
+    }
+}
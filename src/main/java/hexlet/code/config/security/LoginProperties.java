@@ -0,0 +1,19 @@
+package hexlet.code.config.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "auth.login")
+@Setter
+@Getter
+public class LoginProperties {
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int queueCapacity = 64;
+    private Duration maxQueueWait = Duration.ofSeconds(2);
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
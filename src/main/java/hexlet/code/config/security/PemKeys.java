@@ -0,0 +1,56 @@
+package hexlet.code.config.security;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+// Reads X.509 "PUBLIC KEY" and PKCS#8 "PRIVATE KEY" PEM files, the formats openssl genpkey/pkey write for all three
+// algorithms.
+final class PemKeys {
+    private PemKeys() {
+    }
+
+    static PublicKey readPublicKey(Resource resource, String keyAlgorithm) {
+        try {
+            var spec = new X509EncodedKeySpec(decode(resource, "PUBLIC KEY"));
+            return KeyFactory.getInstance(keyAlgorithm).generatePublic(spec);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid " + keyAlgorithm + " public key in " + resource, e);
+        }
+    }
+
+    static PrivateKey readPrivateKey(Resource resource, String keyAlgorithm) {
+        try {
+            var spec = new PKCS8EncodedKeySpec(decode(resource, "PRIVATE KEY"));
+            return KeyFactory.getInstance(keyAlgorithm).generatePrivate(spec);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid " + keyAlgorithm + " private key in " + resource, e);
+        }
+    }
+
+    private static byte[] decode(Resource resource, String type) {
+        String pem;
+        try (var input = resource.getInputStream()) {
+            pem = new String(input.readAllBytes(), StandardCharsets.US_ASCII);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read key " + resource, e);
+        }
+
+        var begin = "-----BEGIN " + type + "-----";
+        var end = "-----END " + type + "-----";
+        var from = pem.indexOf(begin);
+        var to = pem.indexOf(end);
+        if (from < 0 || to < from) {
+            throw new IllegalStateException(resource + " does not contain a PEM encoded " + type);
+        }
+        return Base64.getMimeDecoder().decode(pem.substring(from + begin.length(), to));
+    }
+}
@@ -1,39 +1,43 @@
 package hexlet.code.controller;
 
 import hexlet.code.dto.AuthDTO;
-import hexlet.code.repository.UserRepository;
-import hexlet.code.util.JwtUtils;
+import hexlet.code.exception.LoginRejectedException;
+import hexlet.code.service.LoginService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api")
 @RequiredArgsConstructor
 public class AuthController {
-    private final JwtUtils jwtUtils;
-    private final AuthenticationManager authenticationManager;
-
-    @Autowired
-    private final UserRepository userRepository;
+    private final LoginService loginService;
 
     @PostMapping("/login")
-    public String create(@RequestBody AuthDTO authRequest) {
-        var authentication =
-            new UsernamePasswordAuthenticationToken(authRequest.getUsername(), authRequest.getPassword());
-
-        var user = userRepository.findAll().getFirst();
-
-        System.out.println(user.getEmail());
-        System.out.println(user.getPassword());
+    public CompletableFuture<String> create(@RequestBody AuthDTO authRequest) {
+        return loginService.login(authRequest.getUsername(), authRequest.getPassword());
+    }
 
-        authenticationManager.authenticate(authentication);
+    @ExceptionHandler(LoginRejectedException.class)
+    public ResponseEntity<Void> handleRejected(LoginRejectedException e) {
+        var retryAfter = Math.max(1, e.getRetryAfter().toSeconds());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                             .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                             .build();
+    }
 
-        return jwtUtils.generateToken(authRequest.getUsername());
+    // authentication now fails on the login pool, after the security filters have already let the request through
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<Void> handleBadCredentials() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
     }
 }
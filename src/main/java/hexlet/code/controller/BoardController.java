@@ -0,0 +1,34 @@
+package hexlet.code.controller;
+
+import hexlet.code.dto.board.BoardColumnDTO;
+import hexlet.code.service.BoardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/board")
+@RequiredArgsConstructor
+public class BoardController {
+
+    private final BoardService boardService;
+
+    @GetMapping
+    public List<BoardColumnDTO> getBoard(@RequestParam(required = false) Integer limit) {
+        return boardService.getBoard(limit);
+    }
+
+    @GetMapping("/columns/{statusId}")
+    public BoardColumnDTO getColumn(
+        @PathVariable Long statusId,
+        @RequestParam(required = false) String after,
+        @RequestParam(required = false) Integer limit
+    ) {
+        return boardService.getColumn(statusId, after, limit);
+    }
+}
@@ -1,25 +1,54 @@
 package hexlet.code.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import hexlet.code.dto.task.TaskBatchResult;
+import hexlet.code.dto.task.TaskBulkResultDTO;
+import hexlet.code.dto.task.TaskBulkUpdateDTO;
 import hexlet.code.dto.task.TaskCreateDTO;
 import hexlet.code.dto.task.TaskDTO;
 import hexlet.code.dto.task.TaskFilter;
+import hexlet.code.dto.task.TaskMoveDTO;
+import hexlet.code.dto.task.TaskPageRequest;
+import hexlet.code.dto.task.TaskStatsDTO;
 import hexlet.code.dto.task.TaskUpdateDTO;
+import hexlet.code.exception.TaskConflictException;
+import hexlet.code.exporter.TaskExportFormat;
+import hexlet.code.exporter.TaskExportService;
+import hexlet.code.service.TaskBatchService;
+import hexlet.code.service.TaskBulkService;
+import hexlet.code.service.TaskCounterService;
 import hexlet.code.service.TaskService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -27,30 +56,121 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskCounterService taskCounterService;
+    private final TaskBatchService taskBatchService;
+    private final TaskBulkService taskBulkService;
+    private final TaskExportService taskExportService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    public List<TaskDTO> getAll(
+    public ResponseEntity<List<TaskDTO>> getAll(
         @RequestParam(required = false) String titleCont,
+        @RequestParam(required = false) String contentCont,
         @RequestParam(required = false) Long assigneeId,
         @RequestParam(required = false) String status,
-        @RequestParam(required = false) Long labelId) {
+        @RequestParam(required = false) Long labelId,
+        @RequestParam(required = false) Set<Long> labelIds,
+        @RequestParam(required = false) String labelMode,
+        @RequestParam(required = false) String after,
+        @RequestParam(required = false) Integer limit,
+        @RequestParam(name = "_start", required = false) Integer start,
+        @RequestParam(name = "_end", required = false) Integer end,
+        WebRequest request) {
 
         TaskFilter filter = new TaskFilter();
         filter.setTitleCont(titleCont);
+        filter.setContentCont(contentCont);
         filter.setAssigneeId(assigneeId);
         filter.setStatus(status);
         filter.setLabelId(labelId);
+        filter.setLabelIds(labelIds);
+        filter.setLabelMode(labelMode);
 
-        if (filter.isEmpty()) {
-            return taskService.getAll();
+        TaskPageRequest pageRequest = new TaskPageRequest();
+        pageRequest.setAfter(after);
+        pageRequest.setLimit(limit);
+        pageRequest.setStart(start);
+        pageRequest.setEnd(end);
+
+        var etag = taskService.getPageETag(filter);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+        var page = taskService.getPage(filter, pageRequest);
+        if (etag == null) {
+            etag = page.toETag();
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+        }
+
+        var response = ResponseEntity.ok()
+                                     .eTag(etag)
+                                     .header("X-Total-Count", String.valueOf(page.getTotal()));
+        if (page.getNextCursor() != null) {
+            response.header("X-Next-Cursor", page.getNextCursor());
+        }
+        return response.body(page.getContent());
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream(TaskFilter filter) {
+        var writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            var generator = objectMapper.getFactory().createGenerator(outputStream);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            taskService.streamTasks(filter, task -> writeLine(writer, generator, task));
+            generator.close();
+        };
+        return ResponseEntity.ok()
+                             .contentType(MediaType.APPLICATION_NDJSON)
+                             .body(body);
+    }
+
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamByParam(TaskFilter filter) {
+        return stream(filter);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+        TaskFilter filter,
+        @RequestParam(defaultValue = "ndjson") String format,
+        @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        var exportFormat = TaskExportFormat.of(format);
+        var gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        StreamingResponseBody body = outputStream -> taskExportService.export(filter, exportFormat, gzip, outputStream);
+
+        var response = ResponseEntity.ok()
+                                     .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                                     .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                         .filename("tasks." + exportFormat.getExtension())
+                                         .build()
+                                         .toString())
+                                     .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
         }
+        return response.body(body);
+    }
 
-        return taskService.getFilteredTasks(filter);
+    @GetMapping("/stats")
+    public TaskStatsDTO getStats() {
+        return taskCounterService.getStats();
     }
 
     @GetMapping("/{id}")
-    public TaskDTO getById(@PathVariable Long id) {
-        return taskService.getById(id);
+    public ResponseEntity<TaskDTO> getById(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(String.valueOf(taskService.getVersion(id)))) {
+            return null;
+        }
+
+        var task = taskService.getById(id);
+        return ResponseEntity.ok()
+                             .eTag(String.valueOf(task.getVersion()))
+                             .body(task);
     }
 
     @PostMapping
@@ -59,9 +179,42 @@ public class TaskController {
         return taskService.create(dto);
     }
 
+    @PostMapping("/batch")
+    public List<TaskBatchResult> createBatch(@RequestBody List<TaskCreateDTO> dtos) {
+        return taskBatchService.create(dtos);
+    }
+
+    @PatchMapping("/bulk")
+    public TaskBulkResultDTO updateBulk(@RequestBody TaskBulkUpdateDTO dto) {
+        return taskBulkService.update(dto);
+    }
+
     @PutMapping("/{id}")
-    public TaskDTO update(@PathVariable Long id, @Valid @RequestBody TaskUpdateDTO dto) {
-        return taskService.update(id, dto);
+    public ResponseEntity<TaskDTO> update(
+        @PathVariable Long id,
+        @Valid @RequestBody TaskUpdateDTO dto,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        var task = taskService.update(id, dto, parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                             .eTag(String.valueOf(task.getVersion()))
+                             .body(task);
+    }
+
+    @PostMapping("/{id}/move")
+    public ResponseEntity<TaskDTO> move(@PathVariable Long id, @RequestBody TaskMoveDTO dto) {
+        var task = taskService.move(id, dto);
+        return ResponseEntity.ok()
+                             .eTag(String.valueOf(task.getVersion()))
+                             .body(task);
+    }
+
+    @PostMapping("/{id}/labels")
+    public ResponseEntity<TaskDTO> addLabels(@PathVariable Long id, @RequestBody Set<Long> labelIds) {
+        var task = taskService.addLabels(id, labelIds);
+        return ResponseEntity.ok()
+                             .eTag(String.valueOf(task.getVersion()))
+                             .body(task);
     }
 
     @DeleteMapping("/{id}")
@@ -69,4 +222,38 @@ public class TaskController {
     public void delete(@PathVariable Long id) {
         taskService.delete(id);
     }
+
+    @ExceptionHandler(TaskConflictException.class)
+    public ResponseEntity<TaskDTO> handleConflict(TaskConflictException e) {
+        // the losing writer gets the state it lost against, so it can reapply its change without another GET
+        var current = taskService.getById(e.getTaskId());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                             .eTag(String.valueOf(current.getVersion()))
+                             .body(current);
+    }
+
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        // task ETags are strong and carry only the version, weak or foreign tags can never match
+        var tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            var version = tag.substring(1, tag.length() - 1);
+            if (version.length() < 19 && version.chars().allMatch(Character::isDigit)) {
+                return Long.valueOf(version);
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Task has been modified");
+    }
+
+    private void writeLine(ObjectWriter writer, JsonGenerator generator, TaskDTO task) {
+        try {
+            writer.writeValue(generator, task);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
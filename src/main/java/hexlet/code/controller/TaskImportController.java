@@ -0,0 +1,52 @@
+package hexlet.code.controller;
+
+import hexlet.code.dto.task.TaskImportDTO;
+import hexlet.code.importer.TaskImport;
+import hexlet.code.importer.TaskImportFormat;
+import hexlet.code.importer.TaskImportRegistry;
+import hexlet.code.importer.TaskImportService;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tasks/imports")
+@RequiredArgsConstructor
+public class TaskImportController {
+
+    private final TaskImportService taskImportService;
+    private final TaskImportRegistry taskImportRegistry;
+
+    // the body is consumed as a stream, so the request ends when the import does; poll GET for progress meanwhile
+    @PostMapping(consumes = "text/csv")
+    public TaskImportDTO importCsv(InputStream body, @RequestParam(required = false) String source) {
+        return taskImportService.importTasks(body, TaskImportFormat.CSV, source);
+    }
+
+    @PostMapping(consumes = "application/x-ndjson")
+    public TaskImportDTO importNdjson(InputStream body, @RequestParam(required = false) String source) {
+        return taskImportService.importTasks(body, TaskImportFormat.NDJSON, source);
+    }
+
+    @GetMapping
+    public List<TaskImportDTO> getAll() {
+        return taskImportRegistry.findAll().stream()
+                                 .map(TaskImport::toDto)
+                                 .toList();
+    }
+
+    @GetMapping("/{id}")
+    public TaskImportDTO getById(@PathVariable String id) {
+        return taskImportRegistry.find(id)
+                                 .map(TaskImport::toDto)
+                                 .orElseThrow(() -> new EntityNotFoundException("Import not found with id: " + id));
+    }
+}
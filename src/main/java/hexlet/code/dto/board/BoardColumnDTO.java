@@ -0,0 +1,19 @@
+package hexlet.code.dto.board;
+
+import hexlet.code.dto.task.TaskDTO;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class BoardColumnDTO {
+    private Long id;
+    private String name;
+    private String slug;
+    private long total;
+    private List<TaskDTO> tasks = new ArrayList<>();
+    private String nextCursor;
+}
@@ -0,0 +1,39 @@
+package hexlet.code.dto.board;
+
+import hexlet.code.dto.task.TaskDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@Getter
+@AllArgsConstructor
+public class BoardCursor {
+    private final String rank;
+    private final Integer index;
+    private final Long id;
+
+    public static BoardCursor of(TaskDTO task) {
+        return new BoardCursor(task.getRank(), task.getIndex(), task.getId());
+    }
+
+    public String encode() {
+        var raw = (rank == null ? "" : rank) + ":" + (index == null ? "" : index.toString()) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BoardCursor decode(String value) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            var parts = raw.split(":", 3);
+            var rank = parts[0].isEmpty() ? null : parts[0];
+            var index = parts[1].isEmpty() ? null : Integer.valueOf(parts[1]);
+            return new BoardCursor(rank, index, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + value, e);
+        }
+    }
+}
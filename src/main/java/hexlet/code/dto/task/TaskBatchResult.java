@@ -0,0 +1,24 @@
+package hexlet.code.dto.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchResult {
+    private int index;
+    private TaskDTO task;
+    private String error;
+
+    public static TaskBatchResult created(int index, TaskDTO task) {
+        return new TaskBatchResult(index, task, null);
+    }
+
+    public static TaskBatchResult failed(int index, String error) {
+        return new TaskBatchResult(index, null, error);
+    }
+}
@@ -0,0 +1,30 @@
+package hexlet.code.dto.task;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.openapitools.jackson.nullable.JsonNullable;
+
+import java.util.Set;
+
+@Getter
+@Setter
+public class TaskBulkUpdateDTO {
+    private Set<Long> ids;
+    private TaskFilter filter;
+
+    private String status;
+    private JsonNullable<Long> assigneeId = JsonNullable.undefined();
+    private Set<Long> addLabelIds;
+    private Set<Long> removeLabelIds;
+
+    public boolean hasSelector() {
+        return ids != null || filter != null;
+    }
+
+    public boolean hasOperation() {
+        return status != null
+            || assigneeId.isPresent()
+            || addLabelIds != null && !addLabelIds.isEmpty()
+            || removeLabelIds != null && !removeLabelIds.isEmpty();
+    }
+}
@@ -1,5 +1,6 @@
 package hexlet.code.dto.task;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -19,4 +20,10 @@ public class TaskDTO {
     private String content;
     private String status;
     private Set<Long> taskLabelIds;
+
+    @JsonIgnore
+    private String rank;
+
+    @JsonIgnore
+    private Long version;
 }
@@ -0,0 +1,16 @@
+package hexlet.code.dto.task;
+
+import java.time.LocalDate;
+
+// taskLabelIds is the comma separated list aggregated by the database, written out without being parsed
+public record TaskExportRow(
+    Long id,
+    Integer index,
+    String title,
+    String content,
+    LocalDate createdAt,
+    Long assigneeId,
+    String status,
+    String taskLabelIds
+) {
+}
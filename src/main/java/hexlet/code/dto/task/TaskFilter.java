@@ -3,18 +3,29 @@ package hexlet.code.dto.task;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.Set;
+
 @Getter
 @Setter
 public class TaskFilter {
     private String titleCont;
+    private String contentCont;
     private Long assigneeId;
     private String status;
     private Long labelId;
+    private Set<Long> labelIds;
+    private String labelMode;
 
     public boolean isEmpty() {
         return titleCont == null
+            && contentCont == null
             && assigneeId == null
             && status == null
-            && labelId == null;
+            && labelId == null
+            && (labelIds == null || labelIds.isEmpty());
+    }
+
+    public boolean isMatchAllLabels() {
+        return "all".equalsIgnoreCase(labelMode);
     }
 }
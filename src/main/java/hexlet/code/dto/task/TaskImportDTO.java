@@ -0,0 +1,27 @@
+package hexlet.code.dto.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskImportDTO {
+    private String id;
+    private String format;
+    private String source;
+    private String state;
+    private long processed;
+    private long imported;
+    private long failed;
+    private long rowsPerSecond;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private List<String> errors;
+}
@@ -0,0 +1,17 @@
+package hexlet.code.dto.task;
+
+import java.time.Instant;
+
+// An aggregate over every task matching a list filter; versions only grow, so any edit, creation or deletion of a
+// matching task changes at least one component.
+public record TaskListVersion(
+    long count,
+    Long maxId,
+    Long versionSum,
+    Instant lastUpdated
+) {
+
+    public String toETag() {
+        return TaskPage.digest(count + "|" + maxId + "|" + versionSum + "|" + lastUpdated);
+    }
+}
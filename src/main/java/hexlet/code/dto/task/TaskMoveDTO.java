@@ -0,0 +1,15 @@
+package hexlet.code.dto.task;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class TaskMoveDTO {
+    // slug of the target column, the task stays in its own column when omitted
+    private String status;
+
+    // the task lands right after afterId and right before beforeId; with neither it goes to the bottom
+    private Long afterId;
+    private Long beforeId;
+}
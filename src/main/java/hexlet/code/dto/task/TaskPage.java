@@ -0,0 +1,42 @@
+package hexlet.code.dto.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class TaskPage {
+    private final List<TaskDTO> content;
+    private final long total;
+    private final String nextCursor;
+
+    // used when the page was built from memory; versions cover edits and status renames,
+    // the label ids cover labels deleted from under a task
+    public String toETag() {
+        var text = new StringBuilder().append(total).append('|').append(nextCursor);
+        for (var task : content) {
+            text.append('|').append(task.getId())
+                .append(':').append(task.getVersion())
+                .append(':');
+            if (task.getTaskLabelIds() != null) {
+                task.getTaskLabelIds().stream().sorted().forEach(labelId -> text.append(labelId).append(','));
+            }
+        }
+        return digest(text.toString());
+    }
+
+    static String digest(String text) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
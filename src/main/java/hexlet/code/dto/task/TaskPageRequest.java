@@ -0,0 +1,13 @@
+package hexlet.code.dto.task;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class TaskPageRequest {
+    private String after;
+    private Integer limit;
+    private Integer start;
+    private Integer end;
+}
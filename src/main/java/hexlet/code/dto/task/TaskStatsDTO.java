@@ -0,0 +1,16 @@
+package hexlet.code.dto.task;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Map;
+
+@Getter
+@Setter
+public class TaskStatsDTO {
+    private long total;
+    private long unassigned;
+    private Map<String, Long> byStatus;
+    private Map<Long, Long> byAssignee;
+    private Map<Long, Long> byLabel;
+}
@@ -0,0 +1,11 @@
+package hexlet.code.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class StatusChangedEvent {
+    private final String oldSlug;
+    private final String newSlug;
+}
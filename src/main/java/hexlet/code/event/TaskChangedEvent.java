@@ -0,0 +1,12 @@
+package hexlet.code.event;
+
+import hexlet.code.dto.task.TaskDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class TaskChangedEvent {
+    private final TaskDTO before;
+    private final TaskDTO after;
+}
@@ -0,0 +1,13 @@
+package hexlet.code.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// Status, assignee and labels of many tasks changed at once; titles and descriptions are untouched.
+@Getter
+@AllArgsConstructor
+public class TasksBulkChangedEvent {
+    private final List<Long> taskIds;
+}
@@ -0,0 +1,15 @@
+package hexlet.code.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class LoginRejectedException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public LoginRejectedException(Duration retryAfter) {
+        super("Too many concurrent logins, retry after " + retryAfter.toSeconds() + "s");
+        this.retryAfter = retryAfter;
+    }
+}
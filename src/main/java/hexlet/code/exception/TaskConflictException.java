@@ -0,0 +1,13 @@
+package hexlet.code.exception;
+
+import lombok.Getter;
+
+@Getter
+public class TaskConflictException extends RuntimeException {
+    private final Long taskId;
+
+    public TaskConflictException(Long taskId, Throwable cause) {
+        super("Task was modified concurrently: " + taskId, cause);
+        this.taskId = taskId;
+    }
+}
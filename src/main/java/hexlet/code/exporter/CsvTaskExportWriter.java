@@ -0,0 +1,84 @@
+package hexlet.code.exporter;
+
+import hexlet.code.dto.task.TaskExportRow;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+// Label ids are separated by '|' as in the import format, so the column needs no quoting.
+public class CsvTaskExportWriter implements TaskExportWriter {
+    private static final String HEADER = "id,title,content,status,index,assigneeId,createdAt,taskLabelIds\n";
+
+    private final Writer writer;
+
+    public CsvTaskExportWriter(OutputStream output) throws IOException {
+        writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+        writer.write(HEADER);
+    }
+
+    @Override
+    public void write(TaskExportRow row) throws IOException {
+        writer.write(String.valueOf(row.id()));
+        writer.write(',');
+        writeText(row.title());
+        writer.write(',');
+        writeText(row.content());
+        writer.write(',');
+        writeText(row.status());
+        writer.write(',');
+        writeValue(row.index());
+        writer.write(',');
+        writeValue(row.assigneeId());
+        writer.write(',');
+        writeValue(row.createdAt());
+        writer.write(',');
+        if (row.taskLabelIds() != null) {
+            writer.write(row.taskLabelIds().replace(',', '|'));
+        }
+        writer.write('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value != null) {
+            writer.write(value.toString());
+        }
+    }
+
+    private void writeText(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!needsQuotes(value)) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        for (var i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (var i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,48 @@
+package hexlet.code.exporter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import hexlet.code.dto.task.TaskExportRow;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Writes the fields of TaskDTO with the streaming generator, so no DTO or databind step is involved per row.
+public class NdjsonTaskExportWriter implements TaskExportWriter {
+    private final JsonGenerator generator;
+
+    public NdjsonTaskExportWriter(JsonFactory factory, OutputStream output) throws IOException {
+        generator = factory.createGenerator(output);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(TaskExportRow row) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", row.id());
+        if (row.index() != null) {
+            generator.writeNumberField("index", row.index());
+        }
+        if (row.createdAt() != null) {
+            generator.writeStringField("createdAt", row.createdAt().toString());
+        }
+        if (row.assigneeId() != null) {
+            generator.writeNumberField("assigneeId", row.assigneeId());
+        }
+        generator.writeStringField("title", row.title());
+        if (row.content() != null) {
+            generator.writeStringField("content", row.content());
+        }
+        generator.writeStringField("status", row.status());
+        generator.writeFieldName("taskLabelIds");
+        generator.writeRawValue(row.taskLabelIds() == null ? "[]" : "[" + row.taskLabelIds() + "]");
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.flush();
+    }
+}
@@ -0,0 +1,63 @@
+package hexlet.code.exporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.config.TaskProperties;
+import hexlet.code.dto.task.TaskFilter;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.service.TaskService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+@RequiredArgsConstructor
+public class TaskExportService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final TaskRepository taskRepository;
+    private final TaskService taskService;
+    private final TaskProperties taskProperties;
+    private final ObjectMapper objectMapper;
+
+    // the read-only transaction keeps the cursor open; rows go to the output as they arrive and nothing is collected
+    @Transactional(readOnly = true)
+    public void export(TaskFilter filter, TaskExportFormat format, boolean gzip, OutputStream output)
+        throws IOException {
+
+        var target = gzip ? new FastGzipOutputStream(output) : new BufferedOutputStream(output, BUFFER_SIZE);
+        TaskExportWriter writer = switch (format) {
+            case CSV -> new CsvTaskExportWriter(target);
+            case NDJSON -> new NdjsonTaskExportWriter(objectMapper.getFactory(), target);
+        };
+
+        var spec = taskService.buildTaskSpecification(filter);
+        taskRepository.streamExportRows(spec, taskProperties.getStreaming().getFetchSize(), row -> {
+            try {
+                writer.write(row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        writer.finish();
+        if (target instanceof GZIPOutputStream gzipOutput) {
+            gzipOutput.finish();
+        }
+        target.flush();
+    }
+
+    // the fastest level still shrinks text several times, higher levels would make the export CPU bound
+    private static final class FastGzipOutputStream extends GZIPOutputStream {
+        FastGzipOutputStream(OutputStream output) throws IOException {
+            super(output, BUFFER_SIZE);
+            def.setLevel(Deflater.BEST_SPEED);
+        }
+    }
+}
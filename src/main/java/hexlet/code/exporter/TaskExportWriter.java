@@ -0,0 +1,13 @@
+package hexlet.code.exporter;
+
+import hexlet.code.dto.task.TaskExportRow;
+
+import java.io.IOException;
+
+public interface TaskExportWriter {
+
+    void write(TaskExportRow row) throws IOException;
+
+    // pushes buffered output to the underlying stream without closing it
+    void finish() throws IOException;
+}
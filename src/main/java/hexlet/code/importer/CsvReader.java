@@ -0,0 +1,131 @@
+package hexlet.code.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// RFC 4180 records, read one at a time so only the current record is held in memory.
+public class CsvReader {
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private final int maxRecordLength;
+    // the characters of the current record, replayed from its second line if the record turns out to be malformed
+    private final StringBuilder raw = new StringBuilder();
+    private String replay = "";
+    private int replayed;
+    private int pushedBack = NONE;
+    private long line;
+
+    public CsvReader(Reader reader, int maxRecordLength) {
+        this.reader = reader;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    // line on which the last returned record ended
+    public long getLine() {
+        return line;
+    }
+
+    public List<String> next() throws IOException {
+        raw.setLength(0);
+        var c = read();
+        if (c == -1) {
+            return null;
+        }
+
+        var start = line + 1;
+        List<String> fields = new ArrayList<>();
+        var field = new StringBuilder();
+        var quoted = false;
+        var fieldStart = true;
+        var length = 0;
+        for (;;) {
+            if (c == -1) {
+                if (quoted) {
+                    throw malformed(start, "Unterminated quoted field on line " + start);
+                }
+                fields.add(field.toString());
+                line++;
+                return fields;
+            }
+            if (++length > maxRecordLength) {
+                throw malformed(start, "Record on line " + start + " exceeds " + maxRecordLength + " characters");
+            }
+
+            if (quoted) {
+                if (c == '"') {
+                    var next = read();
+                    if (next != '"') {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                }
+                if (c == '\n') {
+                    line++;
+                }
+                field.append((char) c);
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+                fieldStart = false;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    var next = read();
+                    if (next != '\n') {
+                        pushedBack = next;
+                    }
+                }
+                fields.add(field.toString());
+                line++;
+                return fields;
+            } else {
+                field.append((char) c);
+                fieldStart = false;
+            }
+            c = read();
+        }
+    }
+
+    // Resumes on the line after the one the record started on, so a stray quote costs one row rather than the rest
+    // of the file. Lines the record had already consumed are replayed; otherwise the rest of its line is skipped.
+    private MalformedRecordException malformed(long start, String message) throws IOException {
+        var secondLine = raw.indexOf("\n");
+        if (secondLine >= 0) {
+            replay = raw.substring(secondLine + 1) + replay.substring(replayed);
+            replayed = 0;
+        } else {
+            var c = readRaw();
+            while (c != -1 && c != '\n') {
+                c = readRaw();
+            }
+        }
+        line = start;
+        return new MalformedRecordException(start, message);
+    }
+
+    private int read() throws IOException {
+        var c = readRaw();
+        if (c != -1) {
+            raw.append((char) c);
+        }
+        return c;
+    }
+
+    private int readRaw() throws IOException {
+        if (pushedBack != NONE) {
+            var c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        if (replayed < replay.length()) {
+            return replay.charAt(replayed++);
+        }
+        return reader.read();
+    }
+}
@@ -0,0 +1,101 @@
+package hexlet.code.importer;
+
+import hexlet.code.dto.task.TaskCreateDTO;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Columns: title, content, status (slug), index, assignee (email) and labels (names separated by '|').
+public class CsvTaskRowReader implements TaskRowReader {
+    private static final String LABEL_SEPARATOR = "\\|";
+
+    private final CsvReader csvReader;
+    private final TaskImportLookups lookups;
+    private final Map<String, Integer> columns = new HashMap<>();
+
+    public CsvTaskRowReader(CsvReader csvReader, TaskImportLookups lookups) throws IOException {
+        this.csvReader = csvReader;
+        this.lookups = lookups;
+
+        var header = csvReader.next();
+        if (header == null) {
+            return;
+        }
+        for (var i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).strip().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("title") || !columns.containsKey("status")) {
+            throw new IllegalArgumentException("CSV header must contain title and status columns");
+        }
+    }
+
+    @Override
+    public TaskImportRow next() throws IOException {
+        List<String> record;
+        try {
+            record = csvReader.next();
+            while (record != null && record.stream().allMatch(String::isBlank)) {
+                record = csvReader.next();
+            }
+        } catch (MalformedRecordException e) {
+            return TaskImportRow.failed(e.getLine(), e.getMessage());
+        }
+        if (record == null) {
+            return null;
+        }
+
+        var number = csvReader.getLine();
+        var task = new TaskCreateDTO();
+        task.setTitle(value(record, "title"));
+        task.setContent(value(record, "content"));
+        task.setStatus(value(record, "status"));
+
+        var index = value(record, "index");
+        if (index != null) {
+            try {
+                task.setIndex(Integer.valueOf(index));
+            } catch (NumberFormatException e) {
+                return TaskImportRow.failed(number, "Invalid index: " + index);
+            }
+        }
+
+        var assignee = value(record, "assignee");
+        if (assignee != null) {
+            var assigneeId = lookups.userIdsByEmail().get(assignee);
+            if (assigneeId == null) {
+                return TaskImportRow.failed(number, "User not found: " + assignee);
+            }
+            task.setAssigneeId(assigneeId);
+        }
+
+        var labels = value(record, "labels");
+        if (labels != null) {
+            Set<Long> labelIds = new HashSet<>();
+            for (var name : labels.split(LABEL_SEPARATOR)) {
+                if (name.isBlank()) {
+                    continue;
+                }
+                var labelId = lookups.labelIdsByName().get(name.strip());
+                if (labelId == null) {
+                    return TaskImportRow.failed(number, "Label not found: " + name.strip());
+                }
+                labelIds.add(labelId);
+            }
+            task.setTaskLabelIds(labelIds);
+        }
+        return TaskImportRow.of(number, task);
+    }
+
+    private String value(List<String> record, String column) {
+        var position = columns.get(column);
+        if (position == null || position >= record.size() || record.get(position).isBlank()) {
+            return null;
+        }
+        return record.get(position).strip();
+    }
+}
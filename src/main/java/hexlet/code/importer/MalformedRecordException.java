@@ -0,0 +1,14 @@
+package hexlet.code.importer;
+
+import lombok.Getter;
+
+// A record that cannot be parsed; the reader has already moved on to the next line.
+@Getter
+public class MalformedRecordException extends IllegalArgumentException {
+    private final long line;
+
+    public MalformedRecordException(long line, String message) {
+        super(message);
+        this.line = line;
+    }
+}
@@ -0,0 +1,58 @@
+package hexlet.code.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import hexlet.code.dto.task.TaskCreateDTO;
+
+import java.io.IOException;
+import java.io.Reader;
+
+// One TaskCreateDTO per line, in the same shape as the body of POST /api/tasks.
+public class NdjsonTaskRowReader implements TaskRowReader {
+    private final Reader reader;
+    private final ObjectReader objectReader;
+    private final int maxLineLength;
+    private final StringBuilder line = new StringBuilder();
+    private long number;
+
+    public NdjsonTaskRowReader(Reader reader, ObjectReader objectReader, int maxLineLength) {
+        this.reader = reader;
+        this.objectReader = objectReader.forType(TaskCreateDTO.class);
+        this.maxLineLength = maxLineLength;
+    }
+
+    @Override
+    public TaskImportRow next() throws IOException {
+        while (readLine()) {
+            number++;
+            if (line.length() > maxLineLength) {
+                return TaskImportRow.failed(number, "Line " + number + " exceeds " + maxLineLength + " characters");
+            }
+            if (line.toString().isBlank()) {
+                continue;
+            }
+            try {
+                return TaskImportRow.of(number, objectReader.readValue(line.toString()));
+            } catch (JsonProcessingException e) {
+                return TaskImportRow.failed(number, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+        return null;
+    }
+
+    // an over-long line is cut one character past the limit and the rest of it skipped
+    private boolean readLine() throws IOException {
+        line.setLength(0);
+        var c = reader.read();
+        if (c == -1) {
+            return false;
+        }
+        while (c != -1 && c != '\n') {
+            if (c != '\r' && line.length() <= maxLineLength) {
+                line.append((char) c);
+            }
+            c = reader.read();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,83 @@
+package hexlet.code.importer;
+
+import hexlet.code.dto.task.TaskImportDTO;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Written by the importing thread and read by progress requests, hence the atomics and the copy in toDto.
+public class TaskImport {
+    public enum State { RUNNING, COMPLETED, FAILED }
+
+    @Getter
+    private final String id = UUID.randomUUID().toString();
+    private final TaskImportFormat format;
+    private final String source;
+    private final int maxErrors;
+    private final Instant startedAt = Instant.now();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final List<String> errors = new ArrayList<>();
+
+    @Getter
+    private volatile State state = State.RUNNING;
+    private volatile Instant finishedAt;
+
+    public TaskImport(TaskImportFormat format, String source, int maxErrors) {
+        this.format = format;
+        this.source = source;
+        this.maxErrors = maxErrors;
+    }
+
+    public void recordImported(long count) {
+        imported.addAndGet(count);
+    }
+
+    public void recordFailure(long row, String error) {
+        failed.incrementAndGet();
+        addError("row " + row + ": " + error);
+    }
+
+    public void complete() {
+        finish(State.COMPLETED);
+    }
+
+    public void fail(String error) {
+        addError(error);
+        finish(State.FAILED);
+    }
+
+    public boolean isFinished() {
+        return state != State.RUNNING;
+    }
+
+    public TaskImportDTO toDto() {
+        var end = finishedAt != null ? finishedAt : Instant.now();
+        var processed = imported.get() + failed.get();
+        var millis = Math.max(Duration.between(startedAt, end).toMillis(), 1);
+        List<String> errorsCopy;
+        synchronized (errors) {
+            errorsCopy = List.copyOf(errors);
+        }
+        return new TaskImportDTO(id, format.name(), source, state.name(), processed, imported.get(), failed.get(),
+            processed * 1000 / millis, startedAt, finishedAt, errorsCopy);
+    }
+
+    private void addError(String error) {
+        synchronized (errors) {
+            if (errors.size() < maxErrors) {
+                errors.add(error);
+            }
+        }
+    }
+
+    private void finish(State finalState) {
+        finishedAt = Instant.now();
+        state = finalState;
+    }
+}
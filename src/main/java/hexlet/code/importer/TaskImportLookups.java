@@ -0,0 +1,7 @@
+package hexlet.code.importer;
+
+import java.util.Map;
+
+// Emails and label names are resolved once per import; both maps grow with users and labels, not with the input.
+public record TaskImportLookups(Map<String, Long> userIdsByEmail, Map<String, Long> labelIdsByName) {
+}
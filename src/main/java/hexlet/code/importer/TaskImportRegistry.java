@@ -0,0 +1,40 @@
+package hexlet.code.importer;
+
+import hexlet.code.config.TaskProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class TaskImportRegistry {
+    private final TaskProperties taskProperties;
+    private final Map<String, TaskImport> imports = new LinkedHashMap<>();
+
+    public synchronized TaskImport start(TaskImportFormat format, String source) {
+        var settings = taskProperties.getImports();
+        var taskImport = new TaskImport(format, source, settings.getMaxErrors());
+        imports.put(taskImport.getId(), taskImport);
+
+        // only finished imports are dropped, oldest first, so a running one always stays queryable
+        var iterator = imports.values().iterator();
+        while (imports.size() > settings.getRetained() && iterator.hasNext()) {
+            if (iterator.next().isFinished()) {
+                iterator.remove();
+            }
+        }
+        return taskImport;
+    }
+
+    public synchronized Optional<TaskImport> find(String id) {
+        return Optional.ofNullable(imports.get(id));
+    }
+
+    public synchronized List<TaskImport> findAll() {
+        return List.copyOf(imports.values());
+    }
+}
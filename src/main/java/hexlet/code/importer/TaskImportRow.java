@@ -0,0 +1,14 @@
+package hexlet.code.importer;
+
+import hexlet.code.dto.task.TaskCreateDTO;
+
+public record TaskImportRow(long number, TaskCreateDTO task, String error) {
+
+    public static TaskImportRow of(long number, TaskCreateDTO task) {
+        return new TaskImportRow(number, task, null);
+    }
+
+    public static TaskImportRow failed(long number, String error) {
+        return new TaskImportRow(number, null, error);
+    }
+}
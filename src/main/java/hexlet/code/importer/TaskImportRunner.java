@@ -0,0 +1,48 @@
+package hexlet.code.importer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+// java -jar app.jar --import-tasks=tasks.csv [--import-format=csv|ndjson] imports the file and exits.
+// Runs on ApplicationReadyEvent rather than as an ApplicationRunner so the status and label caches are loaded first.
+@Component
+@RequiredArgsConstructor
+public class TaskImportRunner {
+    private static final String FILE_OPTION = "import-tasks";
+    private static final String FORMAT_OPTION = "import-format";
+
+    private final TaskImportService taskImportService;
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        var args = new DefaultApplicationArguments(event.getArgs());
+        if (!args.containsOption(FILE_OPTION)) {
+            return;
+        }
+
+        var path = Path.of(args.getOptionValues(FILE_OPTION).getFirst());
+        var format = args.containsOption(FORMAT_OPTION)
+            ? TaskImportFormat.valueOf(args.getOptionValues(FORMAT_OPTION).getFirst().toUpperCase(Locale.ROOT))
+            : TaskImportFormat.fromFileName(path.toString());
+
+        TaskImport.State state;
+        try (var input = Files.newInputStream(path)) {
+            state = TaskImport.State.valueOf(taskImportService.importTasks(input, format, path.toString()).getState());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        var exitCode = state == TaskImport.State.COMPLETED ? 0 : 1;
+        System.exit(SpringApplication.exit(event.getApplicationContext(), () -> exitCode));
+    }
+}
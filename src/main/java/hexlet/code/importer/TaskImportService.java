@@ -0,0 +1,107 @@
+package hexlet.code.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.config.TaskProperties;
+import hexlet.code.dto.task.TaskCreateDTO;
+import hexlet.code.dto.task.TaskImportDTO;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.service.TaskBatchService;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskImportService {
+    private final TaskBatchService taskBatchService;
+    private final TaskImportRegistry taskImportRegistry;
+    private final UserRepository userRepository;
+    private final LabelRepository labelRepository;
+    private final TaskProperties taskProperties;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    // Rows are read straight from the stream and committed chunk by chunk, so a failure keeps the chunks before it.
+    public TaskImportDTO importTasks(InputStream input, TaskImportFormat format, String source) {
+        var taskImport = taskImportRegistry.start(format, source);
+        log.info("task import {} started from {}", taskImport.getId(), source);
+
+        var settings = taskProperties.getImports();
+        try (var reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            TaskRowReader rows = switch (format) {
+                case CSV -> new CsvTaskRowReader(new CsvReader(reader, settings.getMaxRowLength()), loadLookups());
+                case NDJSON -> new NdjsonTaskRowReader(reader, objectMapper.reader(), settings.getMaxRowLength());
+            };
+            importRows(rows, taskImport);
+            taskImport.complete();
+        } catch (IOException | RuntimeException e) {
+            log.warn("task import {} failed", taskImport.getId(), e);
+            taskImport.fail(e.getMessage());
+        }
+
+        var result = taskImport.toDto();
+        log.info("task import {} {}: {} imported, {} failed, {} rows/s", result.getId(),
+            result.getState().toLowerCase(), result.getImported(), result.getFailed(), result.getRowsPerSecond());
+        return result;
+    }
+
+    private void importRows(TaskRowReader rows, TaskImport taskImport) throws IOException {
+        var chunkSize = Math.min(taskProperties.getImports().getChunkSize(), taskProperties.getBatch().getMaxSize());
+        List<TaskCreateDTO> chunk = new ArrayList<>(chunkSize);
+        List<Long> rowNumbers = new ArrayList<>(chunkSize);
+
+        for (var row = rows.next(); row != null; row = rows.next()) {
+            if (row.error() != null) {
+                taskImport.recordFailure(row.number(), row.error());
+                continue;
+            }
+            chunk.add(row.task());
+            rowNumbers.add(row.number());
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, rowNumbers, taskImport);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, rowNumbers, taskImport);
+        }
+    }
+
+    private void importChunk(List<TaskCreateDTO> chunk, List<Long> rowNumbers, TaskImport taskImport) {
+        var results = taskBatchService.create(chunk);
+        var imported = 0;
+        for (var result : results) {
+            if (result.getError() == null) {
+                imported++;
+            } else {
+                taskImport.recordFailure(rowNumbers.get(result.getIndex()), result.getError());
+            }
+        }
+        taskImport.recordImported(imported);
+
+        // an open session in view keeps one persistence context for the whole request, which would hold every task
+        entityManager.clear();
+        chunk.clear();
+        rowNumbers.clear();
+    }
+
+    private TaskImportLookups loadLookups() {
+        Map<String, Long> users = new HashMap<>();
+        userRepository.findAllEmailsAndIds().forEach(row -> users.put((String) row[0], (Long) row[1]));
+        Map<String, Long> labels = new HashMap<>();
+        labelRepository.findAllNamesAndIds().forEach(row -> labels.put((String) row[0], (Long) row[1]));
+        return new TaskImportLookups(users, labels);
+    }
+}
@@ -0,0 +1,9 @@
+package hexlet.code.importer;
+
+import java.io.IOException;
+
+public interface TaskRowReader {
+
+    // returns null once the input is exhausted
+    TaskImportRow next() throws IOException;
+}
@@ -2,11 +2,17 @@ package hexlet.code.mapper;
 
 import hexlet.code.model.BaseEntity;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
 import org.mapstruct.Mapper;
 import org.mapstruct.MappingConstants;
 import org.mapstruct.TargetType;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 @Mapper(
     componentModel = MappingConstants.ComponentModel.SPRING
 )
@@ -15,6 +21,38 @@ public abstract class ReferenceMapper {
     private EntityManager entityManager;
 
     public <T extends BaseEntity> T toEntity(Long id, @TargetType Class<T> entityClass) {
-        return id != null ? entityManager.find(entityClass, id) : null;
+        if (id == null) {
+            return null;
+        }
+        requireExisting(List.of(id), entityClass);
+        return entityManager.getReference(entityClass, id);
+    }
+
+    public <T extends BaseEntity> T getReference(Long id, Class<T> entityClass) {
+        return id != null ? entityManager.getReference(entityClass, id) : null;
+    }
+
+    // checks every id with a single id-only query instead of loading the rows
+    public Set<Long> findExistingIds(Collection<Long> ids, Class<?> entityClass) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        var entityName = entityManager.getMetamodel().entity(entityClass).getName();
+        var existing = entityManager.createQuery("select e.id from " + entityName + " e where e.id in :ids", Long.class)
+                                    .setParameter("ids", ids)
+                                    .getResultList();
+        return new HashSet<>(existing);
+    }
+
+    private void requireExisting(Collection<Long> ids, Class<?> entityClass) {
+        var existing = findExistingIds(ids, entityClass);
+        if (existing.containsAll(ids)) {
+            return;
+        }
+
+        Set<Long> missing = new HashSet<>(ids);
+        missing.removeAll(existing);
+        var entityName = entityManager.getMetamodel().entity(entityClass).getName();
+        throw new EntityNotFoundException(entityName + " not found: " + missing);
     }
 }
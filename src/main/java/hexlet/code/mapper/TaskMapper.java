@@ -1,13 +1,13 @@
 package hexlet.code.mapper;
 
+import hexlet.code.cache.LabelCache;
+import hexlet.code.cache.StatusCache;
 import hexlet.code.dto.task.TaskCreateDTO;
 import hexlet.code.dto.task.TaskDTO;
 import hexlet.code.dto.task.TaskUpdateDTO;
 import hexlet.code.model.Label;
 import hexlet.code.model.Status;
 import hexlet.code.model.Task;
-import hexlet.code.repository.LabelRepository;
-import hexlet.code.repository.StatusRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.mapstruct.Mapper;
@@ -19,7 +19,6 @@ import org.mapstruct.ReportingPolicy;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -35,9 +34,9 @@ import static org.mapstruct.CollectionMappingStrategy.TARGET_IMMUTABLE;
 @Slf4j
 public abstract class TaskMapper {
     @Autowired
-    protected StatusRepository statusRepository;
+    protected StatusCache statusCache;
     @Autowired
-    private LabelRepository labelRepository;
+    private LabelCache labelCache;
 
     @Mapping(target = "assigneeId", source = "assignee.id")
     @Mapping(target = "status", source = "status.slug")
@@ -48,17 +47,26 @@ public abstract class TaskMapper {
 
     @Mapping(target = "name", source = "title")
     @Mapping(target = "description", source = "content")
+    @Mapping(target = "assignee", source = "assigneeId")
     @Mapping(target = "labels", source = "taskLabelIds")
     public abstract Task toEntity(TaskCreateDTO dto);
 
     @Mapping(target = "name", source = "title")
     @Mapping(target = "description", source = "content")
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "assignee", ignore = true)
+    @Mapping(target = "labels", ignore = true)
+    public abstract Task toEntityWithoutReferences(TaskCreateDTO dto);
+
+    @Mapping(target = "name", source = "title")
+    @Mapping(target = "description", source = "content")
+    @Mapping(target = "assignee", source = "assigneeId")
     @Mapping(target = "labels", source = "taskLabelIds")
     public abstract void updateEntity(TaskUpdateDTO dto, @MappingTarget Task entity);
 
     public Status toStatus(String statusSlag) {
-        return statusRepository.findBySlug(statusSlag)
-                                   .orElseThrow(() -> new EntityNotFoundException(statusSlag));
+        return statusCache.getBySlug(statusSlag)
+                          .orElseThrow(() -> new EntityNotFoundException(statusSlag));
     }
 
     protected Set<Long> mapLabelsToIds(Set<Label> labels) {
@@ -74,7 +82,7 @@ public abstract class TaskMapper {
         if (labelIds == null) {
             return Collections.emptySet();
         }
-        return new HashSet<>(labelRepository.findAllById(labelIds));
+        return labelCache.getReferences(labelIds);
     }
 
 
@@ -1,5 +1,7 @@
 package hexlet.code.model;
 
+import hexlet.code.cache.StatusCacheListener;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
@@ -13,6 +15,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -20,7 +24,9 @@ import java.time.LocalDate;
 
 @Entity
 @Table(name = "statuses")
-@EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "statuses")
+@EntityListeners({AuditingEntityListener.class, StatusCacheListener.class})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -3,6 +3,7 @@ package hexlet.code.model;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -10,20 +11,39 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedEntityGraphs;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.OptimisticLock;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Set;
 
 @Entity
 @Table(name = "tasks")
+@NamedEntityGraphs({
+    @NamedEntityGraph(
+        name = Task.WITH_REFERENCES,
+        attributeNodes = {@NamedAttributeNode("status"), @NamedAttributeNode("assignee")}
+    ),
+    @NamedEntityGraph(
+        name = Task.WITH_LABELS,
+        attributeNodes = {@NamedAttributeNode("status"), @NamedAttributeNode("assignee"), @NamedAttributeNode("labels")}
+    )
+})
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -31,9 +51,12 @@ import java.util.Set;
 @AllArgsConstructor
 @Builder
 public class Task {
+    public static final String WITH_REFERENCES = "Task.withReferences";
+    public static final String WITH_LABELS = "Task.withLabels";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -41,13 +64,17 @@ public class Task {
 
     private Integer index;
 
+    // reordering a card is not a content change, so it neither bumps the version nor conflicts with edits
+    @OptimisticLock(excluded = true)
+    private String rank;
+
     private String description;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "status_id", nullable = false)
     private Status status;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assignee_id")
     private User assignee;
 
@@ -55,7 +82,17 @@ public class Task {
     @Column(nullable = false, updatable = false)
     private LocalDate createdAt;
 
+    // set on every flush, so it must not bump the version on its own when only the rank changed
+    @LastModifiedDate
+    @OptimisticLock(excluded = true)
+    private Instant updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @ManyToMany
+    @BatchSize(size = 100)
     @JoinTable(
         name = "task_label",
         joinColumns = @JoinColumn(name = "task_id"),
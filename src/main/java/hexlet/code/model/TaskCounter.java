@@ -0,0 +1,54 @@
+package hexlet.code.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+@Entity
+@Table(name = "task_counters")
+@IdClass(TaskCounter.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskCounter {
+    public static final long UNASSIGNED = 0L;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private Dimension dimension;
+
+    @Id
+    private Long refId;
+
+    @Column(nullable = false)
+    private long taskCount;
+
+    public enum Dimension {
+        STATUS,
+        ASSIGNEE,
+        LABEL
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Dimension dimension;
+        private Long refId;
+    }
+}
@@ -0,0 +1,440 @@
+package hexlet.code.readmodel;
+
+import hexlet.code.config.TaskProperties;
+import hexlet.code.dto.task.TaskCursor;
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskFilter;
+import hexlet.code.dto.task.TaskPage;
+import hexlet.code.event.StatusChangedEvent;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.event.TasksBulkChangedEvent;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskSpecifications;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Rows are kept in (createdAt, id) order; deleted rows keep their slot and are masked out of live until the next
+// compaction. A task that commits out of order is appended and the model stops serving pages until compact() has
+// re-sorted it.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskReadModel implements ApplicationRunner {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NO_INDEX = Integer.MIN_VALUE;
+    private static final long NO_ASSIGNEE = 0L;
+    private static final int BULK_RELOAD_SIZE = 1000;
+
+    private final TaskRepository taskRepository;
+    private final TaskProperties taskProperties;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    private int size;
+    private volatile boolean sorted = true;
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] indexes = new int[INITIAL_CAPACITY];
+    private int[] createdAt = new int[INITIAL_CAPACITY];
+    private long[] assigneeIds = new long[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private int[] statuses = new int[INITIAL_CAPACITY];
+    private String[] titles = new String[INITIAL_CAPACITY];
+    private String[] contents = new String[INITIAL_CAPACITY];
+
+    private final BitSet live = new BitSet();
+    private final Map<Long, Integer> positions = new HashMap<>();
+    private final List<String> statusSlugs = new ArrayList<>();
+    private final Map<String, Integer> statusOrdinals = new HashMap<>();
+    private final List<BitSet> statusBitmaps = new ArrayList<>();
+    private final Map<Long, BitSet> labelBitmaps = new HashMap<>();
+
+    @Override
+    @Transactional(readOnly = true)
+    public void run(ApplicationArguments args) {
+        if (!taskProperties.getReadModel().isEnabled()) {
+            return;
+        }
+
+        var started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            taskRepository.streamAll(null, taskProperties.getStreaming().getFetchSize(), this::append);
+            compact();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("task read model loaded {} rows in {} ms", size, System.currentTimeMillis() - started);
+    }
+
+    public boolean isReady() {
+        return ready && sorted;
+    }
+
+    // returns null if the model went out of order after isReady() was checked
+    public TaskPage find(TaskFilter filter, TaskCursor after, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            if (!sorted) {
+                return null;
+            }
+
+            var matches = match(filter);
+            var total = matches.cardinality();
+
+            List<TaskDTO> content = new ArrayList<>(Math.min(limit, total));
+            var skipped = 0;
+            var pos = matches.nextSetBit(after == null ? 0 : firstPositionAfter(after));
+            while (pos >= 0 && content.size() <= limit) {
+                if (after == null || isAfter(pos, after)) {
+                    if (skipped < offset) {
+                        skipped++;
+                    } else {
+                        content.add(toDto(pos));
+                    }
+                }
+                pos = matches.nextSetBit(pos + 1);
+            }
+
+            String nextCursor = null;
+            if (content.size() > limit) {
+                content.removeLast();
+                nextCursor = TaskCursor.of(content.getLast()).encode();
+            }
+            return new TaskPage(content, total, nextCursor);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.read-model.compact-interval:PT10S}")
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            if (sorted && live.cardinality() == size) {
+                return;
+            }
+
+            var order = live.stream()
+                            .boxed()
+                            .sorted((left, right) -> compare(left, createdAt[right], ids[right]))
+                            .mapToInt(Integer::intValue)
+                            .toArray();
+            var moved = new int[size];
+            for (var pos = 0; pos < order.length; pos++) {
+                moved[order[pos]] = pos;
+            }
+
+            ids = reorder(ids, order);
+            indexes = reorder(indexes, order);
+            createdAt = reorder(createdAt, order);
+            assigneeIds = reorder(assigneeIds, order);
+            versions = reorder(versions, order);
+            statuses = reorder(statuses, order);
+            titles = reorder(titles, order);
+            contents = reorder(contents, order);
+
+            size = order.length;
+            live.clear();
+            live.set(0, size);
+            positions.clear();
+            statusBitmaps.forEach(BitSet::clear);
+            for (var pos = 0; pos < size; pos++) {
+                positions.put(ids[pos], pos);
+                statusBitmaps.get(statuses[pos]).set(pos);
+            }
+            labelBitmaps.replaceAll((labelId, bitmap) -> {
+                var result = new BitSet(size);
+                bitmap.stream().forEach(pos -> result.set(moved[pos]));
+                return result;
+            });
+            sorted = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!ready) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (event.getAfter() == null) {
+                remove(event.getBefore().getId());
+            } else if (positions.containsKey(event.getAfter().getId())) {
+                write(positions.get(event.getAfter().getId()), event.getAfter());
+            } else {
+                append(event.getAfter());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksBulkChanged(TasksBulkChangedEvent event) {
+        if (!ready) {
+            return;
+        }
+
+        var taskIds = event.getTaskIds();
+        for (var from = 0; from < taskIds.size(); from += BULK_RELOAD_SIZE) {
+            var chunk = taskIds.subList(from, Math.min(from + BULK_RELOAD_SIZE, taskIds.size()));
+            var tasks = taskRepository.findSlice(TaskSpecifications.withIdIn(chunk), null, 0, chunk.size());
+            lock.writeLock().lock();
+            try {
+                tasks.stream()
+                     .filter(task -> positions.containsKey(task.getId()))
+                     .forEach(task -> write(positions.get(task.getId()), task));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(StatusChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            var ordinal = statusOrdinals.remove(event.getOldSlug());
+            if (ordinal != null) {
+                statusSlugs.set(ordinal, event.getNewSlug());
+                statusOrdinals.put(event.getNewSlug(), ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private BitSet match(TaskFilter filter) {
+        var matches = (BitSet) live.clone();
+
+        if (filter.getStatus() != null) {
+            var ordinal = statusOrdinals.get(filter.getStatus());
+            matches.and(ordinal == null ? new BitSet() : statusBitmaps.get(ordinal));
+        }
+        if (filter.getLabelId() != null) {
+            matches.and(labelBitmap(filter.getLabelId()));
+        }
+        if (filter.getLabelIds() != null && !filter.getLabelIds().isEmpty()) {
+            matches.and(combineLabels(filter.getLabelIds(), filter.isMatchAllLabels()));
+        }
+
+        var titleCont = filter.getTitleCont();
+        var contentCont = filter.getContentCont();
+        var assigneeId = filter.getAssigneeId();
+        if (titleCont != null || contentCont != null || assigneeId != null) {
+            for (var pos = matches.nextSetBit(0); pos >= 0; pos = matches.nextSetBit(pos + 1)) {
+                if (assigneeId != null && assigneeIds[pos] != assigneeId
+                    || !containsIgnoreCase(titles[pos], titleCont)
+                    || !containsIgnoreCase(contents[pos], contentCont)) {
+                    matches.clear(pos);
+                }
+            }
+        }
+        return matches;
+    }
+
+    private BitSet combineLabels(Set<Long> labelIds, boolean matchAll) {
+        BitSet result = null;
+        for (var labelId : labelIds) {
+            var bitmap = labelBitmap(labelId);
+            if (result == null) {
+                result = (BitSet) bitmap.clone();
+            } else if (matchAll) {
+                result.and(bitmap);
+            } else {
+                result.or(bitmap);
+            }
+        }
+        return result;
+    }
+
+    private BitSet labelBitmap(Long labelId) {
+        return labelBitmaps.getOrDefault(labelId, new BitSet());
+    }
+
+    private void append(TaskDTO task) {
+        if (size == ids.length) {
+            grow();
+        }
+
+        var pos = size++;
+        if (pos > 0 && compare(pos - 1, task.getCreatedAt(), task.getId()) > 0) {
+            sorted = false;
+        }
+        ids[pos] = task.getId();
+        positions.put(task.getId(), pos);
+        live.set(pos);
+        fill(pos, task);
+    }
+
+    private void write(int pos, TaskDTO task) {
+        clearBitmaps(pos);
+        fill(pos, task);
+    }
+
+    private void fill(int pos, TaskDTO task) {
+        indexes[pos] = task.getIndex() == null ? NO_INDEX : task.getIndex();
+        createdAt[pos] = task.getCreatedAt() == null ? 0 : (int) task.getCreatedAt().toEpochDay();
+        assigneeIds[pos] = task.getAssigneeId() == null ? NO_ASSIGNEE : task.getAssigneeId();
+        versions[pos] = task.getVersion() == null ? 0 : task.getVersion();
+        titles[pos] = task.getTitle();
+        contents[pos] = task.getContent();
+
+        var ordinal = statusOrdinal(task.getStatus());
+        statuses[pos] = ordinal;
+        statusBitmaps.get(ordinal).set(pos);
+
+        if (task.getTaskLabelIds() != null) {
+            task.getTaskLabelIds().forEach(labelId -> labelBitmaps.computeIfAbsent(labelId, id -> new BitSet())
+                                                                  .set(pos));
+        }
+    }
+
+    private void remove(Long id) {
+        var pos = positions.remove(id);
+        if (pos != null) {
+            live.clear(pos);
+            clearBitmaps(pos);
+            titles[pos] = null;
+            contents[pos] = null;
+        }
+    }
+
+    private void clearBitmaps(int pos) {
+        statusBitmaps.forEach(bitmap -> bitmap.clear(pos));
+        labelBitmaps.values().forEach(bitmap -> bitmap.clear(pos));
+    }
+
+    private int statusOrdinal(String slug) {
+        return statusOrdinals.computeIfAbsent(slug, key -> {
+            statusSlugs.add(key);
+            statusBitmaps.add(new BitSet());
+            return statusSlugs.size() - 1;
+        });
+    }
+
+    private TaskDTO toDto(int pos) {
+        var dto = new TaskDTO();
+        dto.setId(ids[pos]);
+        dto.setIndex(indexes[pos] == NO_INDEX ? null : indexes[pos]);
+        dto.setCreatedAt(LocalDate.ofEpochDay(createdAt[pos]));
+        dto.setAssigneeId(assigneeIds[pos] == NO_ASSIGNEE ? null : assigneeIds[pos]);
+        dto.setVersion(versions[pos]);
+        dto.setTitle(titles[pos]);
+        dto.setContent(contents[pos]);
+        dto.setStatus(statusSlugs.get(statuses[pos]));
+
+        Set<Long> labelIds = new HashSet<>();
+        labelBitmaps.forEach((labelId, bitmap) -> {
+            if (bitmap.get(pos)) {
+                labelIds.add(labelId);
+            }
+        });
+        dto.setTaskLabelIds(labelIds);
+        return dto;
+    }
+
+    private int firstPositionAfter(TaskCursor cursor) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            var mid = (low + high) >>> 1;
+            if (compare(mid, cursor.getCreatedAt(), cursor.getId()) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private boolean isAfter(int pos, TaskCursor cursor) {
+        return compare(pos, cursor.getCreatedAt(), cursor.getId()) > 0;
+    }
+
+    private int compare(int pos, LocalDate date, long id) {
+        return compare(pos, date == null ? 0 : (int) date.toEpochDay(), id);
+    }
+
+    private int compare(int pos, int day, long id) {
+        var byDate = Integer.compare(createdAt[pos], day);
+        return byDate != 0 ? byDate : Long.compare(ids[pos], id);
+    }
+
+    private static long[] reorder(long[] values, int[] order) {
+        var result = new long[values.length];
+        for (var pos = 0; pos < order.length; pos++) {
+            result[pos] = values[order[pos]];
+        }
+        return result;
+    }
+
+    private static int[] reorder(int[] values, int[] order) {
+        var result = new int[values.length];
+        for (var pos = 0; pos < order.length; pos++) {
+            result[pos] = values[order[pos]];
+        }
+        return result;
+    }
+
+    private static String[] reorder(String[] values, int[] order) {
+        var result = new String[values.length];
+        for (var pos = 0; pos < order.length; pos++) {
+            result[pos] = values[order[pos]];
+        }
+        return result;
+    }
+
+    private void grow() {
+        var capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        indexes = Arrays.copyOf(indexes, capacity);
+        createdAt = Arrays.copyOf(createdAt, capacity);
+        assigneeIds = Arrays.copyOf(assigneeIds, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+        contents = Arrays.copyOf(contents, capacity);
+    }
+
+    private static boolean containsIgnoreCase(String text, String part) {
+        if (part == null) {
+            return true;
+        }
+        if (text == null) {
+            return false;
+        }
+
+        var length = part.length();
+        for (var i = 0; i + length <= text.length(); i++) {
+            if (text.regionMatches(true, i, part, 0, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
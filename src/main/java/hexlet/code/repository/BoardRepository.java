@@ -0,0 +1,142 @@
+package hexlet.code.repository;
+
+import hexlet.code.dto.board.BoardColumnDTO;
+import hexlet.code.dto.board.BoardCursor;
+import hexlet.code.dto.task.TaskDTO;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class BoardRepository {
+    // The ranked cards drive the join and the columns without cards come from a second branch. Joining the statuses
+    // to the window instead lets a planner evaluate the window again for every column.
+    private static final String CARDS_QUERY = """
+        select s.id as column_id, s.name as column_name, s.slug as column_slug, t.total as column_total,
+               t.id as task_id, t.index as task_index, t.name as task_name, t.description as task_description,
+               t.created_at as task_created_at, t.assignee_id as task_assignee_id, tl.label_id as task_label_id,
+               t.rank as task_rank, t.rn as task_position
+        from (
+            select r.id, r.rank, r.index, r.name, r.description, r.created_at, r.assignee_id, r.status_id,
+                   %1$s as total,
+                   row_number() over (
+                       partition by r.status_id order by r.rank nulls last, r.index nulls last, r.id
+                   ) as rn
+            from tasks r
+            %2$s
+        ) t
+        join statuses s on s.id = t.status_id
+        left join task_label tl on tl.task_id = t.id
+        where t.rn <= :limit
+        union all
+        select s.id, s.name, s.slug, (select count(*) from tasks c where c.status_id = s.id),
+               null, null, null, null, null, null, null, null, null
+        from statuses s
+        where not exists (select 1 from tasks r where r.status_id = s.id%3$s)%4$s
+        order by column_id, task_position, task_label_id
+        """;
+
+    private final EntityManager entityManager;
+
+    public List<BoardColumnDTO> findBoard(int limit) {
+        var query = entityManager.createNativeQuery(CARDS_QUERY.formatted("count(*) over (partition by r.status_id)", "", "", ""))
+                                 .setParameter("limit", limit + 1);
+        return toColumns(query.getResultList(), limit);
+    }
+
+    public BoardColumnDTO findColumn(Long statusId, BoardCursor after, int limit) {
+        var keyset = after == null ? "" : " and " + keyset(after);
+        var sql = CARDS_QUERY.formatted("(select count(*) from tasks c where c.status_id = :statusId)",
+            "where r.status_id = :statusId" + keyset, keyset, " and s.id = :statusId");
+        var query = entityManager.createNativeQuery(sql)
+                                 .setParameter("statusId", statusId)
+                                 .setParameter("limit", limit + 1);
+        if (after != null) {
+            query.setParameter("afterId", after.getId());
+            if (after.getIndex() != null) {
+                query.setParameter("afterIndex", after.getIndex());
+            }
+            if (after.getRank() != null) {
+                query.setParameter("afterRank", after.getRank());
+            }
+        }
+
+        var columns = toColumns(query.getResultList(), limit);
+        return columns.isEmpty() ? null : columns.getFirst();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<BoardColumnDTO> toColumns(List<?> rows, int limit) {
+        Map<Long, BoardColumnDTO> columns = new LinkedHashMap<>();
+        Map<Long, TaskDTO> tasks = new LinkedHashMap<>();
+
+        for (var row : (List<Object[]>) rows) {
+            var columnId = toLong(row[0]);
+            var column = columns.computeIfAbsent(columnId, id -> {
+                var dto = new BoardColumnDTO();
+                dto.setId(id);
+                dto.setName((String) row[1]);
+                dto.setSlug((String) row[2]);
+                dto.setTotal(toLong(row[3]));
+                return dto;
+            });
+            if (row[4] == null) {
+                continue;
+            }
+
+            var task = tasks.computeIfAbsent(toLong(row[4]), id -> {
+                var dto = new TaskDTO();
+                dto.setId(id);
+                dto.setIndex(row[5] == null ? null : ((Number) row[5]).intValue());
+                dto.setRank((String) row[11]);
+                dto.setTitle((String) row[6]);
+                dto.setContent((String) row[7]);
+                dto.setCreatedAt(toLocalDate(row[8]));
+                dto.setAssigneeId(row[9] == null ? null : toLong(row[9]));
+                dto.setStatus(column.getSlug());
+                dto.setTaskLabelIds(new HashSet<>());
+                column.getTasks().add(dto);
+                return dto;
+            });
+            if (row[10] != null) {
+                task.getTaskLabelIds().add(toLong(row[10]));
+            }
+        }
+
+        for (var column : columns.values()) {
+            var cards = column.getTasks();
+            if (cards.size() > limit) {
+                column.setTasks(cards.subList(0, limit));
+                column.setNextCursor(BoardCursor.of(cards.get(limit - 1)).encode());
+            }
+        }
+        return List.copyOf(columns.values());
+    }
+
+    // rows follow (rank nulls last, index nulls last, id), unranked cards keep the index order they had before ranks
+    private static String keyset(BoardCursor after) {
+        var byIndex = after.getIndex() == null
+            ? "r.index is null and r.id > :afterId"
+            : "(r.index > :afterIndex or (r.index = :afterIndex and r.id > :afterId) or r.index is null)";
+        if (after.getRank() == null) {
+            return "r.rank is null and " + byIndex;
+        }
+        return "(r.rank > :afterRank or r.rank is null or (r.rank = :afterRank and " + byIndex + "))";
+    }
+
+    private static Long toLong(Object value) {
+        return ((Number) value).longValue();
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+}
@@ -0,0 +1,23 @@
+package hexlet.code.repository;
+
+import hexlet.code.model.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+    @Modifying
+    @Query("update JobLock l set l.lockedUntil = :until, l.lockedBy = :owner "
+        + "where l.name = :name and (l.lockedUntil <= :now or l.lockedBy = :owner)")
+    int acquire(
+        @Param("name") String name,
+        @Param("owner") String owner,
+        @Param("now") Instant now,
+        @Param("until") Instant until
+    );
+}
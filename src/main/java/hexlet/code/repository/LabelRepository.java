@@ -1,12 +1,32 @@
 package hexlet.code.repository;
 
 import hexlet.code.model.Label;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface LabelRepository extends JpaRepository<Label, Long> {
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "labels-byName")
+    })
     Optional<Label> findByName(String name);
+
+    @Query("select l.id from Label l")
+    List<Long> findAllIds();
+
+    @Query("select l.id from Label l where l.id in :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select l.name, l.id from Label l")
+    List<Object[]> findAllNamesAndIds();
 }
@@ -1,7 +1,10 @@
 package hexlet.code.repository;
 
 import hexlet.code.model.Status;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,5 +13,10 @@ import java.util.Optional;
 public interface StatusRepository extends JpaRepository<Status, Long> {
     boolean existsByName(String name);
     boolean existsBySlug(String slug);
+
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "statuses-bySlug")
+    })
     Optional<Status> findBySlug(String slug);
 }
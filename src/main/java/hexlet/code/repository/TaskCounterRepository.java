@@ -0,0 +1,31 @@
+package hexlet.code.repository;
+
+import hexlet.code.model.TaskCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TaskCounterRepository extends JpaRepository<TaskCounter, TaskCounter.Key> {
+    @Modifying
+    @Query("update TaskCounter c set c.taskCount = c.taskCount + :delta "
+        + "where c.dimension = :dimension and c.refId = :refId")
+    int increment(
+        @Param("dimension") TaskCounter.Dimension dimension,
+        @Param("refId") Long refId,
+        @Param("delta") long delta
+    );
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from TaskCounter c where c.dimension = :dimension and c.refId = :refId")
+    Optional<TaskCounter> findForUpdate(
+        @Param("dimension") TaskCounter.Dimension dimension,
+        @Param("refId") Long refId
+    );
+}
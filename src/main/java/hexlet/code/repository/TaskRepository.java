@@ -4,13 +4,139 @@ import hexlet.code.model.Label;
 import hexlet.code.model.Status;
 import hexlet.code.model.Task;
 import hexlet.code.model.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>,
+    TaskRepositoryCustom {
+    @Override
+    @EntityGraph(Task.WITH_LABELS)
+    Optional<Task> findById(Long id);
+
+    @Override
+    @EntityGraph(Task.WITH_REFERENCES)
+    List<Task> findAll();
+
+    @Override
+    @EntityGraph(Task.WITH_REFERENCES)
+    List<Task> findAll(Specification<Task> spec);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select t.id, t.name, t.description from Task t order by t.id")
+    Stream<Object[]> streamSearchableText();
+
+    @Query("select t.id from Task t where t.updatedAt >= :since")
+    List<Long> findIdsUpdatedSince(@Param("since") Instant since, Limit limit);
+
+    @Query("select t.status.id, count(t) from Task t group by t.status.id")
+    List<Object[]> countByStatus();
+
+    @Query("select a.id, count(t) from Task t left join t.assignee a group by a.id")
+    List<Object[]> countByAssignee();
+
+    @Query("select l.id, count(t) from Task t join t.labels l group by l.id")
+    List<Object[]> countByLabel();
+
+    @Query("select count(t) from Task t where t.status.id = :statusId")
+    long countInStatus(@Param("statusId") Long statusId);
+
+    @Query("select count(t) from Task t where t.assignee.id = :assigneeId")
+    long countAssignedTo(@Param("assigneeId") Long assigneeId);
+
+    @Query("select count(t) from Task t where t.assignee is null")
+    long countUnassigned();
+
+    @Query("select count(t) from Task t join t.labels l where l.id = :labelId")
+    long countWithLabel(@Param("labelId") Long labelId);
+
+    @Query("select t.status.id, count(t) from Task t where t.id in :ids group by t.status.id")
+    List<Object[]> countByStatusIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select a.id, count(t) from Task t left join t.assignee a where t.id in :ids group by a.id")
+    List<Object[]> countByAssigneeIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update Task t set t.status = :status, t.rank = null, t.version = t.version + 1, t.updatedAt = :now "
+        + "where t.id in :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") Status status, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update Task t set t.assignee = :assignee, t.version = t.version + 1, t.updatedAt = :now "
+        + "where t.id in :ids")
+    int updateAssignee(@Param("ids") Collection<Long> ids, @Param("assignee") User assignee, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update Task t set t.version = t.version + 1, t.updatedAt = :now where t.id in :ids")
+    int touch(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    @Query("select t.version from Task t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Query("update Task t set t.version = t.version + 1, t.updatedAt = :now where t.status.id = :statusId")
+    int touchByStatus(@Param("statusId") Long statusId, @Param("now") Instant now);
+
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    Optional<Task> findByIdAndStatusId(Long id, Long statusId);
+
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select t from Task t where t.status.id = :statusId and t.rank > :rank and t.id <> :excludedId "
+        + "order by t.rank, t.id limit 1")
+    Optional<Task> findNextRanked(@Param("statusId") Long statusId, @Param("rank") String rank,
+                                  @Param("excludedId") Long excludedId);
+
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select t from Task t where t.status.id = :statusId and t.rank < :rank and t.id <> :excludedId "
+        + "order by t.rank desc, t.id desc limit 1")
+    Optional<Task> findPreviousRanked(@Param("statusId") Long statusId, @Param("rank") String rank,
+                                      @Param("excludedId") Long excludedId);
+
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select t from Task t where t.status.id = :statusId and t.rank is not null "
+        + "order by t.rank desc, t.id desc limit 1")
+    Optional<Task> findLastRanked(@Param("statusId") Long statusId);
+
+    @Query("select max(t.rank) from Task t where t.status.id = :statusId")
+    Optional<String> findMaxRank(@Param("statusId") Long statusId);
+
+    @Query("select count(t) > 0 from Task t where t.status.id = :statusId and t.rank is null and t.id <> :excludedId")
+    boolean existsUnranked(@Param("statusId") Long statusId, @Param("excludedId") Long excludedId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.status.id = :statusId and t.rank is null "
+        + "and (:excludedId is null or t.id <> :excludedId) order by t.index nulls last, t.id")
+    List<Task> findUnrankedForUpdate(@Param("statusId") Long statusId, @Param("excludedId") Long excludedId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.status.id = :statusId "
+        + "order by t.rank nulls last, t.index nulls last, t.id")
+    List<Task> findColumnForUpdate(@Param("statusId") Long statusId);
+
+    @Query("select distinct t.status.id from Task t where length(t.rank) > :maxLength")
+    List<Long> findStatusIdsWithLongRanks(@Param("maxLength") int maxLength);
+
+    @Query("select distinct t.status.id from Task t where t.rank is null")
+    List<Long> findStatusIdsWithUnrankedTasks();
+
     boolean existsByAssignee(User user);
 
     boolean existsByStatus(Status taskStatus);
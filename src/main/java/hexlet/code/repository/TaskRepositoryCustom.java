@@ -0,0 +1,28 @@
+package hexlet.code.repository;
+
+import hexlet.code.dto.task.TaskCursor;
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskExportRow;
+import hexlet.code.dto.task.TaskListVersion;
+import hexlet.code.model.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface TaskRepositoryCustom {
+    List<TaskDTO> findSlice(Specification<Task> spec, TaskCursor after, int offset, int limit);
+
+    void streamAll(Specification<Task> spec, int fetchSize, Consumer<TaskDTO> consumer);
+
+    void streamExportRows(Specification<Task> spec, int fetchSize, Consumer<TaskExportRow> consumer);
+
+    TaskListVersion findListVersion(Specification<Task> spec);
+
+    List<Long> findIds(Specification<Task> spec);
+
+    int addLabel(Collection<Long> taskIds, Long labelId);
+
+    int removeLabel(Collection<Long> taskIds, Long labelId);
+}
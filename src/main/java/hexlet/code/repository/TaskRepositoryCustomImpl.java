@@ -0,0 +1,242 @@
+package hexlet.code.repository;
+
+import hexlet.code.dto.task.TaskCursor;
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskExportRow;
+import hexlet.code.dto.task.TaskListVersion;
+import hexlet.code.model.Label;
+import hexlet.code.model.Status;
+import hexlet.code.model.Task;
+import hexlet.code.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.AvailableHints;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+    private static final String LABEL_IDS_QUERY = "select t.id, l.id from Task t join t.labels l where t.id in :ids";
+    private static final String ADD_LABEL_SQL = """
+        insert into task_label (task_id, label_id)
+        select t.id, cast(:labelId as bigint) from tasks t
+        where t.id in (:taskIds)
+          and not exists (select 1 from task_label tl where tl.task_id = t.id and tl.label_id = :labelId)
+        """;
+    private static final String REMOVE_LABEL_SQL =
+        "delete from task_label where task_id in (:taskIds) and label_id = :labelId";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<TaskDTO> findSlice(Specification<Task> spec, TaskCursor after, int offset, int limit) {
+        var query = buildQuery(Specification.where(spec).and(TaskSpecifications.after(after)));
+        var tasks = entityManager.createQuery(query)
+                                 .setFirstResult(offset)
+                                 .setMaxResults(limit)
+                                 .getResultList()
+                                 .stream()
+                                 .map(this::toDto)
+                                 .toList();
+        attachLabelIds(tasks);
+        return tasks;
+    }
+
+    @Override
+    public void streamAll(Specification<Task> spec, int fetchSize, Consumer<TaskDTO> consumer) {
+        var chunk = new ArrayList<TaskDTO>(fetchSize);
+        try (var rows = entityManager.createQuery(buildQuery(spec))
+                                     .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                                     .getResultStream()) {
+            var iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(toDto(iterator.next()));
+                if (chunk.size() == fetchSize) {
+                    emit(chunk, consumer);
+                }
+            }
+        }
+        emit(chunk, consumer);
+    }
+
+    @Override
+    public void streamExportRows(Specification<Task> spec, int fetchSize, Consumer<TaskExportRow> consumer) {
+        var cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        var query = cb.createTupleQuery();
+        var root = query.from(Task.class);
+        Join<Task, Status> status = root.join("status");
+        Join<Task, User> assignee = root.join("assignee", JoinType.LEFT);
+
+        // a correlated subquery per row keeps the cursor streaming, a group by would aggregate the whole result first
+        var labelIds = query.subquery(String.class);
+        Join<Task, Label> label = labelIds.correlate(root).join("labels");
+        labelIds.select(cb.listagg(cb.asc(label.get("id")), label.get("id").as(String.class), ","));
+
+        query.multiselect(
+            root.get("id"),
+            root.get("index"),
+            root.get("name"),
+            root.get("description"),
+            root.get("createdAt"),
+            assignee.get("id"),
+            status.get("slug"),
+            labelIds
+        );
+        var predicate = Specification.where(spec).toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("createdAt")), cb.asc(root.get("id")));
+
+        try (var rows = entityManager.createQuery(query)
+                                     .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                                     .setHint(AvailableHints.HINT_READ_ONLY, true)
+                                     .getResultStream()) {
+            rows.forEach(row -> consumer.accept(new TaskExportRow(
+                row.get(0, Long.class),
+                row.get(1, Integer.class),
+                row.get(2, String.class),
+                row.get(3, String.class),
+                row.get(4, LocalDate.class),
+                row.get(5, Long.class),
+                row.get(6, String.class),
+                row.get(7, String.class)
+            )));
+        }
+    }
+
+    @Override
+    public TaskListVersion findListVersion(Specification<Task> spec) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createTupleQuery();
+        var root = query.from(Task.class);
+        query.multiselect(
+            cb.count(root),
+            cb.max(root.get("id")),
+            cb.sum(root.get("version")),
+            cb.greatest(root.<Instant>get("updatedAt"))
+        );
+
+        var predicate = Specification.where(spec).toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        var row = entityManager.createQuery(query).getSingleResult();
+        return new TaskListVersion(
+            row.get(0, Long.class),
+            row.get(1, Long.class),
+            row.get(2, Long.class),
+            row.get(3, Instant.class)
+        );
+    }
+
+    @Override
+    public List<Long> findIds(Specification<Task> spec) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(Long.class);
+        var root = query.from(Task.class);
+        query.select(root.get("id"));
+
+        var predicate = Specification.where(spec).toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public int addLabel(Collection<Long> taskIds, Long labelId) {
+        return taskLabelQuery(ADD_LABEL_SQL, taskIds)
+            .setParameter("labelId", labelId)
+            .executeUpdate();
+    }
+
+    @Override
+    public int removeLabel(Collection<Long> taskIds, Long labelId) {
+        return taskLabelQuery(REMOVE_LABEL_SQL, taskIds)
+            .setParameter("labelId", labelId)
+            .executeUpdate();
+    }
+
+    // declaring the touched table keeps Hibernate from evicting every second-level cache region
+    private NativeQuery<?> taskLabelQuery(String sql, Collection<Long> taskIds) {
+        return entityManager.createNativeQuery(sql)
+                            .unwrap(NativeQuery.class)
+                            .addSynchronizedQuerySpace("task_label")
+                            .setParameter("taskIds", taskIds);
+    }
+
+    private CriteriaQuery<Tuple> buildQuery(Specification<Task> spec) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createTupleQuery();
+        var root = query.from(Task.class);
+        Join<Task, Status> status = root.join("status");
+        Join<Task, User> assignee = root.join("assignee", JoinType.LEFT);
+
+        query.multiselect(
+            root.get("id"),
+            root.get("index"),
+            root.get("name"),
+            root.get("description"),
+            root.get("createdAt"),
+            assignee.get("id"),
+            status.get("slug"),
+            root.get("version")
+        );
+
+        var predicate = Specification.where(spec).toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("createdAt")), cb.asc(root.get("id")));
+        return query;
+    }
+
+    private void emit(List<TaskDTO> chunk, Consumer<TaskDTO> consumer) {
+        attachLabelIds(chunk);
+        chunk.forEach(consumer);
+        chunk.clear();
+    }
+
+    private TaskDTO toDto(Tuple row) {
+        var dto = new TaskDTO();
+        dto.setId(row.get(0, Long.class));
+        dto.setIndex(row.get(1, Integer.class));
+        dto.setTitle(row.get(2, String.class));
+        dto.setContent(row.get(3, String.class));
+        dto.setCreatedAt(row.get(4, LocalDate.class));
+        dto.setAssigneeId(row.get(5, Long.class));
+        dto.setStatus(row.get(6, String.class));
+        dto.setVersion(row.get(7, Long.class));
+        dto.setTaskLabelIds(new HashSet<>());
+        return dto;
+    }
+
+    private void attachLabelIds(List<TaskDTO> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        var tasksById = tasks.stream()
+                             .collect(Collectors.toMap(TaskDTO::getId, Function.identity()));
+        entityManager.createQuery(LABEL_IDS_QUERY, Object[].class)
+                     .setParameter("ids", tasksById.keySet())
+                     .getResultList()
+                     .forEach(row -> tasksById.get((Long) row[0]).getTaskLabelIds().add((Long) row[1]));
+    }
+}
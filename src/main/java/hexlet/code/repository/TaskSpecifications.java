@@ -1,16 +1,41 @@
 package hexlet.code.repository;
 
+import hexlet.code.dto.task.TaskCursor;
 import hexlet.code.model.Label;
 import hexlet.code.model.Task;
 import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Set;
+
 public class TaskSpecifications {
     public static Specification<Task> withNameContaining(String nameCont) {
         return (root, query, cb) ->
             nameCont == null ? null : cb.like(cb.lower(root.get("name")), "%" + nameCont.toLowerCase() + "%");
     }
 
+    public static Specification<Task> withDescriptionContaining(String contentCont) {
+        return (root, query, cb) ->
+            contentCont == null
+                ? null
+                : cb.like(cb.lower(root.get("description")), "%" + contentCont.toLowerCase() + "%");
+    }
+
+    public static Specification<Task> withIdIn(Collection<Long> ids) {
+        return (root, query, cb) -> {
+            if (ids == null) {
+                return null;
+            }
+
+            return ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids);
+        };
+    }
+
     public static Specification<Task> withAssigneeId(Long assigneeId) {
         return (root, query, cb) ->
             assigneeId == null ? null : cb.equal(root.get("assignee").get("id"), assigneeId);
@@ -22,13 +47,39 @@ public class TaskSpecifications {
     }
 
     public static Specification<Task> withLabelId(Long labelId) {
+        return labelId == null ? withLabelIds(null, false) : withLabelIds(Set.of(labelId), false);
+    }
+
+    public static Specification<Task> withLabelIds(Set<Long> labelIds, boolean matchAll) {
+        return (root, query, cb) -> {
+            if (labelIds == null || labelIds.isEmpty()) {
+                return null;
+            }
+
+            Subquery<Long> tagged = query.subquery(Long.class);
+            Root<Task> task = tagged.from(Task.class);
+            Join<Task, Label> label = task.join("labels");
+            tagged.select(task.get("id"))
+                  .where(label.get("id").in(labelIds));
+            if (matchAll) {
+                tagged.groupBy(task.get("id"))
+                      .having(cb.equal(cb.countDistinct(label.get("id")), (long) labelIds.size()));
+            }
+            return root.get("id").in(tagged);
+        };
+    }
+
+    public static Specification<Task> after(TaskCursor cursor) {
         return (root, query, cb) -> {
-            if (labelId == null) {
+            if (cursor == null) {
                 return null;
             }
 
-            Join<Task, Label> labelJoin = root.join("labels");
-            return cb.equal(labelJoin.get("id"), labelId);
+            Path<LocalDate> createdAt = root.get("createdAt");
+            return cb.or(
+                cb.greaterThan(createdAt, cursor.getCreatedAt()),
+                cb.and(cb.equal(createdAt, cursor.getCreatedAt()), cb.greaterThan(root.get("id"), cursor.getId()))
+            );
         };
     }
 }
@@ -0,0 +1,168 @@
+package hexlet.code.search;
+
+import hexlet.code.config.TaskProperties;
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// The index only narrows the search: rows updated after the last full load are added to its candidates, which covers
+// writes of other instances until the periodic reload picks them up.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskSearchIndex implements ApplicationRunner {
+    private final TaskRepository taskRepository;
+    private final TaskProperties taskProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private TrigramIndex titles = new TrigramIndex();
+    private TrigramIndex contents = new TrigramIndex();
+    private Instant changedSince;
+    private List<TaskChangedEvent> pending;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        reload();
+    }
+
+    @Scheduled(
+        fixedDelayString = "${tasks.search.reload-interval:PT10M}",
+        initialDelayString = "${tasks.search.reload-interval:PT10M}"
+    )
+    public void reload() {
+        if (!taskProperties.getSearch().isEnabled()) {
+            return;
+        }
+
+        var started = Instant.now();
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        var loadedTitles = new TrigramIndex();
+        var loadedContents = new TrigramIndex();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (var rows = taskRepository.streamSearchableText()) {
+                    rows.forEach(row -> {
+                        var id = (Long) row[0];
+                        loadedTitles.add(id, (String) row[1]);
+                        loadedContents.add(id, (String) row[2]);
+                    });
+                }
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // events committed while loading may or may not be in the loaded rows, replaying them is idempotent
+            pending.forEach(event -> apply(loadedTitles, loadedContents, event));
+            pending = null;
+            titles = loadedTitles;
+            contents = loadedContents;
+            changedSince = started.minus(taskProperties.getSearch().getClockSkew());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("task search index loaded in {} ms", Instant.now().toEpochMilli() - started.toEpochMilli());
+    }
+
+    public List<Long> findByTitle(String query) {
+        return find(true, query);
+    }
+
+    public List<Long> findByContent(String query) {
+        return find(false, query);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(event);
+            }
+            apply(titles, contents, event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // null means the database has to scan, either the index cannot answer or it would not narrow the search enough
+    private List<Long> find(boolean byTitle, String query) {
+        if (query == null || !taskProperties.getSearch().isEnabled()) {
+            return null;
+        }
+
+        long[] candidates;
+        Instant since;
+        lock.readLock().lock();
+        try {
+            if (changedSince == null) {
+                return null;
+            }
+            candidates = (byTitle ? titles : contents).candidates(query);
+            since = changedSince;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        var maxCandidates = taskProperties.getSearch().getMaxCandidates();
+        if (candidates == null || candidates.length > maxCandidates) {
+            return null;
+        }
+
+        var changed = taskRepository.findIdsUpdatedSince(since, Limit.of(maxCandidates - candidates.length + 1));
+        if (candidates.length + changed.size() > maxCandidates) {
+            return null;
+        }
+        var ids = new HashSet<>(changed);
+        Arrays.stream(candidates).forEach(ids::add);
+        return List.copyOf(ids);
+    }
+
+    private static void apply(TrigramIndex titles, TrigramIndex contents, TaskChangedEvent event) {
+        var before = event.getBefore();
+        if (before != null) {
+            titles.remove(before.getId(), before.getTitle());
+            contents.remove(before.getId(), before.getContent());
+        }
+        add(titles, contents, event.getAfter());
+    }
+
+    private static void add(TrigramIndex titles, TrigramIndex contents, TaskDTO task) {
+        if (task != null) {
+            titles.add(task.getId(), task.getTitle());
+            contents.add(task.getId(), task.getContent());
+        }
+    }
+}
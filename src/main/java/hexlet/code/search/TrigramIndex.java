@@ -0,0 +1,133 @@
+package hexlet.code.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+public class TrigramIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    public void add(long id, String text) {
+        for (var gram : grams(text)) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(id);
+        }
+    }
+
+    public void remove(long id, String text) {
+        for (var gram : grams(text)) {
+            var list = postings.get(gram);
+            if (list != null) {
+                list.remove(id);
+                if (list.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    // null means the query is too short for the index; candidates still need a substring check
+    public long[] candidates(String query) {
+        var grams = grams(query);
+        if (grams.isEmpty()) {
+            return null;
+        }
+
+        List<Postings> lists = new ArrayList<>(grams.size());
+        for (var gram : grams) {
+            var list = postings.get(gram);
+            if (list == null) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(Postings::size));
+
+        var result = lists.getFirst().toArray();
+        for (var i = 1; i < lists.size() && result.length > 0; i++) {
+            result = lists.get(i).retain(result);
+        }
+        return result;
+    }
+
+    static Set<Long> grams(String text) {
+        if (text == null || text.length() < GRAM_LENGTH) {
+            return Set.of();
+        }
+
+        var lower = text.toLowerCase(Locale.ROOT);
+        Set<Long> grams = new HashSet<>();
+        for (var i = 0; i + GRAM_LENGTH <= lower.length(); i++) {
+            grams.add(((long) lower.charAt(i) << 32) | ((long) lower.charAt(i + 1) << 16) | lower.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void add(long id) {
+            if (size > 0 && ids[size - 1] < id) {
+                ensureCapacity();
+                ids[size++] = id;
+                return;
+            }
+
+            var pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            pos = -pos - 1;
+            ensureCapacity();
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            var pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        long[] retain(long[] candidates) {
+            var result = new long[candidates.length];
+            var count = 0;
+            for (var candidate : candidates) {
+                if (Arrays.binarySearch(ids, 0, size, candidate) >= 0) {
+                    result[count++] = candidate;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+        }
+    }
+}
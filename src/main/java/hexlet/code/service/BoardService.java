@@ -0,0 +1,40 @@
+package hexlet.code.service;
+
+import hexlet.code.config.TaskProperties;
+import hexlet.code.dto.board.BoardColumnDTO;
+import hexlet.code.dto.board.BoardCursor;
+import hexlet.code.repository.BoardRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class BoardService {
+    private final BoardRepository boardRepository;
+    private final TaskProperties taskProperties;
+
+    @Transactional(readOnly = true)
+    public List<BoardColumnDTO> getBoard(Integer limit) {
+        return boardRepository.findBoard(resolveLimit(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public BoardColumnDTO getColumn(Long statusId, String after, Integer limit) {
+        var cursor = after != null ? BoardCursor.decode(after) : null;
+        var column = boardRepository.findColumn(statusId, cursor, resolveLimit(limit));
+        if (column == null) {
+            throw new EntityNotFoundException("TaskStatus not found with id: " + statusId);
+        }
+        return column;
+    }
+
+    private int resolveLimit(Integer limit) {
+        var board = taskProperties.getBoard();
+        var value = limit != null ? limit : board.getColumnLimit();
+        return Math.min(Math.max(value, 1), board.getMaxColumnLimit());
+    }
+}
@@ -0,0 +1,53 @@
+package hexlet.code.service;
+
+import hexlet.code.model.JobLock;
+import hexlet.code.repository.JobLockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+// A lease per scheduled job, so that a job every instance schedules runs on one of them per interval. The instance
+// holding the lease may renew it early, any other takes it over once it has expired.
+@Service
+@Slf4j
+public class JobLockService {
+    private final String owner = UUID.randomUUID().toString();
+    private final JobLockRepository jobLockRepository;
+    private final TransactionTemplate newTransaction;
+
+    public JobLockService(JobLockRepository jobLockRepository, PlatformTransactionManager transactionManager) {
+        this.jobLockRepository = jobLockRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public boolean tryAcquire(String name, Duration lease) {
+        var now = Instant.now();
+        if (acquire(name, now, lease)) {
+            return true;
+        }
+
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                if (!jobLockRepository.existsById(name)) {
+                    jobLockRepository.saveAndFlush(new JobLock(name, now, owner));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("job lock {} was created concurrently", name);
+        }
+        return acquire(name, now, lease);
+    }
+
+    private boolean acquire(String name, Instant now, Duration lease) {
+        var updated = newTransaction.execute(status -> jobLockRepository.acquire(name, owner, now, now.plus(lease)));
+        return updated != null && updated > 0;
+    }
+}
@@ -3,11 +3,13 @@ package hexlet.code.service;
 import hexlet.code.dto.label.LabelCreateDto;
 import hexlet.code.dto.label.LabelDto;
 import hexlet.code.dto.label.LabelUpdateDto;
+import hexlet.code.event.LabelChangedEvent;
 import hexlet.code.mapper.LabelMapper;
 import hexlet.code.repository.LabelRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +22,8 @@ public class LabelService {
     private final LabelRepository labelRepository;
     @Autowired
     private final LabelMapper labelMapper;
+    @Autowired
+    private final ApplicationEventPublisher eventPublisher;
 
     public LabelDto getLabelById(Long id) {
         var label = labelRepository.findById(id)
@@ -53,5 +57,6 @@ public class LabelService {
                                    .orElseThrow(() -> new EntityNotFoundException());
 
         labelRepository.delete(label);
+        eventPublisher.publishEvent(new LabelChangedEvent(id));
     }
 }
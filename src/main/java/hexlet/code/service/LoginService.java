@@ -0,0 +1,101 @@
+package hexlet.code.service;
+
+import hexlet.code.config.security.LoginProperties;
+import hexlet.code.exception.LoginRejectedException;
+import hexlet.code.util.JwtUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// BCrypt runs on a small dedicated pool so a login storm queues here instead of occupying every request thread;
+// once the queue is full, or a login has waited too long to be worth finishing, it is shed with a 503.
+@Service
+public class LoginService implements DisposableBean {
+    private static final String STAGE_TIMER = "auth.login.stage";
+
+    private final AuthenticationManager authenticationManager;
+    private final JwtUtils jwtUtils;
+    private final LoginProperties loginProperties;
+    private final ThreadPoolExecutor executor;
+    private final Timer queueTimer;
+    private final Timer authenticateTimer;
+    private final Timer tokenTimer;
+    private final Counter rejected;
+
+    public LoginService(AuthenticationManager authenticationManager, JwtUtils jwtUtils,
+                        LoginProperties loginProperties, MeterRegistry meterRegistry) {
+        this.authenticationManager = authenticationManager;
+        this.jwtUtils = jwtUtils;
+        this.loginProperties = loginProperties;
+
+        var threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            loginProperties.getThreads(),
+            loginProperties.getThreads(),
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(loginProperties.getQueueCapacity()),
+            task -> new Thread(task, "login-" + threadCount.incrementAndGet()),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        new ExecutorServiceMetrics(executor, "login", Tags.empty()).bindTo(meterRegistry);
+
+        this.queueTimer = stageTimer("queue", meterRegistry);
+        this.authenticateTimer = stageTimer("authenticate", meterRegistry);
+        this.tokenTimer = stageTimer("token", meterRegistry);
+        this.rejected = Counter.builder("auth.login.rejected")
+                               .description("Logins shed because the login pool was saturated")
+                               .register(meterRegistry);
+    }
+
+    public CompletableFuture<String> login(String username, String password) {
+        var queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> authenticate(username, password, queuedAt), executor);
+        } catch (RejectedExecutionException e) {
+            throw reject();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private String authenticate(String username, String password, long queuedAt) {
+        var waited = System.nanoTime() - queuedAt;
+        queueTimer.record(waited, TimeUnit.NANOSECONDS);
+        if (waited > loginProperties.getMaxQueueWait().toNanos()) {
+            throw reject();
+        }
+
+        var authentication = UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+        authenticateTimer.record(() -> authenticationManager.authenticate(authentication));
+        return tokenTimer.record(() -> jwtUtils.generateToken(username));
+    }
+
+    private LoginRejectedException reject() {
+        rejected.increment();
+        return new LoginRejectedException(loginProperties.getRetryAfter());
+    }
+
+    private static Timer stageTimer(String stage, MeterRegistry meterRegistry) {
+        return Timer.builder(STAGE_TIMER)
+                    .description("Time spent in each stage of a login request")
+                    .tag("stage", stage)
+                    .register(meterRegistry);
+    }
+}
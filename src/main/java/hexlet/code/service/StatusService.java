@@ -3,13 +3,17 @@ package hexlet.code.service;
 import hexlet.code.dto.status.StatusCreateDTO;
 import hexlet.code.dto.status.StatusDTO;
 import hexlet.code.dto.status.StatusUpdateDTO;
+import hexlet.code.event.StatusChangedEvent;
 import hexlet.code.mapper.StatusMapper;
 import hexlet.code.repository.StatusRepository;
+import hexlet.code.repository.TaskRepository;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -19,7 +23,11 @@ public class StatusService {
     @Autowired
     private StatusRepository statusRepository;
     @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
     private StatusMapper statusMapper;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public List<StatusDTO> getAll() {
         return statusRepository.findAll().stream()
@@ -47,8 +55,14 @@ public class StatusService {
                 .findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("TaskStatus not found with id: " + id));
 
+        var oldSlug = taskStatus.getSlug();
         statusMapper.updateEntity(dto, taskStatus);
         taskStatus = statusRepository.save(taskStatus);
+        if (!oldSlug.equals(taskStatus.getSlug())) {
+            // tasks render the slug, so their versions and ETags have to change with it
+            taskRepository.touchByStatus(taskStatus.getId(), Instant.now());
+            eventPublisher.publishEvent(new StatusChangedEvent(oldSlug, taskStatus.getSlug()));
+        }
         return statusMapper.toDto(taskStatus);
     }
 
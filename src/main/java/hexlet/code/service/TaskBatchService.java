@@ -0,0 +1,122 @@
+package hexlet.code.service;
+
+import hexlet.code.cache.LabelCache;
+import hexlet.code.cache.StatusCache;
+import hexlet.code.config.TaskProperties;
+import hexlet.code.dto.task.TaskBatchResult;
+import hexlet.code.dto.task.TaskCreateDTO;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.mapper.ReferenceMapper;
+import hexlet.code.mapper.TaskMapper;
+import hexlet.code.model.Task;
+import hexlet.code.model.User;
+import hexlet.code.repository.TaskRepository;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class TaskBatchService {
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+    private final ReferenceMapper referenceMapper;
+    private final StatusCache statusCache;
+    private final LabelCache labelCache;
+    private final TaskCounterService taskCounterService;
+    private final TaskRankService taskRankService;
+    private final TaskProperties taskProperties;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public List<TaskBatchResult> create(List<TaskCreateDTO> dtos) {
+        var maxSize = taskProperties.getBatch().getMaxSize();
+        if (dtos.size() > maxSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + maxSize + " tasks per batch");
+        }
+
+        // references are checked once for the whole batch instead of once per task
+        var assigneeIds = dtos.stream()
+                              .filter(Objects::nonNull)
+                              .map(TaskCreateDTO::getAssigneeId)
+                              .filter(Objects::nonNull)
+                              .collect(Collectors.toSet());
+        var existingAssignees = referenceMapper.findExistingIds(assigneeIds, User.class);
+
+        var results = new TaskBatchResult[dtos.size()];
+        var tasks = new ArrayList<Task>(dtos.size());
+        var positions = new ArrayList<Integer>(dtos.size());
+        for (var i = 0; i < dtos.size(); i++) {
+            var dto = dtos.get(i);
+            var error = validate(dto, existingAssignees);
+            if (error != null) {
+                results[i] = TaskBatchResult.failed(i, error);
+                continue;
+            }
+            tasks.add(toEntity(dto));
+            positions.add(i);
+        }
+
+        taskRankService.assignRanks(tasks);
+        // sequence ids are assigned on persist, so the flush sends the inserts as JDBC batches
+        taskRepository.saveAll(tasks);
+        taskRepository.flush();
+        taskCounterService.recordCreated(tasks.stream().map(TaskCounterService.Snapshot::of).toList());
+
+        for (var i = 0; i < tasks.size(); i++) {
+            var created = taskMapper.toDto(tasks.get(i));
+            results[positions.get(i)] = TaskBatchResult.created(positions.get(i), created);
+            eventPublisher.publishEvent(new TaskChangedEvent(null, created));
+        }
+        return Arrays.asList(results);
+    }
+
+    private String validate(TaskCreateDTO dto, Set<Long> existingAssignees) {
+        if (dto == null) {
+            return "Task is missing";
+        }
+
+        var violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                             .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                             .sorted()
+                             .collect(Collectors.joining(", "));
+        }
+        if (statusCache.getBySlug(dto.getStatus()).isEmpty()) {
+            return "Status not found: " + dto.getStatus();
+        }
+        if (dto.getAssigneeId() != null && !existingAssignees.contains(dto.getAssigneeId())) {
+            return "User not found: " + dto.getAssigneeId();
+        }
+        if (dto.getTaskLabelIds() != null) {
+            var unknownLabels = labelCache.findUnknown(dto.getTaskLabelIds());
+            if (!unknownLabels.isEmpty()) {
+                return "Labels not found: " + unknownLabels;
+            }
+        }
+        return null;
+    }
+
+    private Task toEntity(TaskCreateDTO dto) {
+        var task = taskMapper.toEntityWithoutReferences(dto);
+        task.setStatus(statusCache.getBySlug(dto.getStatus()).orElseThrow());
+        task.setAssignee(referenceMapper.getReference(dto.getAssigneeId(), User.class));
+        var labelIds = dto.getTaskLabelIds();
+        task.setLabels(labelIds == null ? new HashSet<>() : labelCache.getReferences(labelIds));
+        return task;
+    }
+}
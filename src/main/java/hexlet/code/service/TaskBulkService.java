@@ -0,0 +1,117 @@
+package hexlet.code.service;
+
+import hexlet.code.cache.LabelCache;
+import hexlet.code.cache.StatusCache;
+import hexlet.code.dto.task.TaskBulkResultDTO;
+import hexlet.code.dto.task.TaskBulkUpdateDTO;
+import hexlet.code.event.TasksBulkChangedEvent;
+import hexlet.code.mapper.ReferenceMapper;
+import hexlet.code.model.Status;
+import hexlet.code.model.TaskCounter;
+import hexlet.code.model.TaskCounter.Dimension;
+import hexlet.code.model.User;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskSpecifications;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class TaskBulkService {
+    // keeps IN lists well below the bind parameter limits of the supported databases
+    private static final int CHUNK_SIZE = 1000;
+
+    private final TaskRepository taskRepository;
+    private final TaskService taskService;
+    private final ReferenceMapper referenceMapper;
+    private final StatusCache statusCache;
+    private final LabelCache labelCache;
+    private final TaskCounterService taskCounterService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public TaskBulkResultDTO update(TaskBulkUpdateDTO dto) {
+        if (!dto.hasSelector() || !dto.hasOperation()) {
+            throw badRequest("A selector (ids or filter) and at least one operation are required");
+        }
+
+        Status status = null;
+        if (dto.getStatus() != null) {
+            status = statusCache.getBySlug(dto.getStatus())
+                                .orElseThrow(() -> badRequest("Status not found: " + dto.getStatus()));
+        }
+        var assignAssignee = dto.getAssigneeId().isPresent();
+        var assigneeId = dto.getAssigneeId().orElse(null);
+        if (assigneeId != null && referenceMapper.findExistingIds(List.of(assigneeId), User.class).isEmpty()) {
+            throw badRequest("User not found: " + assigneeId);
+        }
+        var addLabelIds = dto.getAddLabelIds() == null ? Set.<Long>of() : dto.getAddLabelIds();
+        var removeLabelIds = dto.getRemoveLabelIds() == null ? Set.<Long>of() : dto.getRemoveLabelIds();
+        var unknownLabels = labelCache.findUnknown(addLabelIds);
+        if (!unknownLabels.isEmpty()) {
+            throw badRequest("Labels not found: " + unknownLabels);
+        }
+
+        var spec = TaskSpecifications.withIdIn(dto.getIds());
+        if (dto.getFilter() != null) {
+            spec = spec.and(taskService.buildTaskSpecification(dto.getFilter()));
+        }
+        var ids = taskRepository.findIds(spec);
+
+        var now = Instant.now();
+        var assignee = referenceMapper.getReference(assigneeId, User.class);
+        for (var from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            var chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+
+            if (status != null) {
+                recordMoves(Dimension.STATUS, taskRepository.countByStatusIn(chunk), status.getId());
+                taskRepository.updateStatus(chunk, status, now);
+            }
+            if (assignAssignee) {
+                var target = assigneeId == null ? TaskCounter.UNASSIGNED : assigneeId;
+                recordMoves(Dimension.ASSIGNEE, taskRepository.countByAssigneeIn(chunk), target);
+                taskRepository.updateAssignee(chunk, assignee, now);
+            }
+            for (var labelId : removeLabelIds) {
+                var removed = taskRepository.removeLabel(chunk, labelId);
+                taskCounterService.increment(Dimension.LABEL, labelId, -removed);
+            }
+            for (var labelId : addLabelIds) {
+                var added = taskRepository.addLabel(chunk, labelId);
+                taskCounterService.increment(Dimension.LABEL, labelId, added);
+            }
+            if (status == null && !assignAssignee) {
+                // label rows are written directly, so the owning tasks need their version bumped explicitly
+                taskRepository.touch(chunk, now);
+            }
+        }
+
+        if (!ids.isEmpty()) {
+            eventPublisher.publishEvent(new TasksBulkChangedEvent(ids));
+        }
+        return new TaskBulkResultDTO(ids.size());
+    }
+
+    private void recordMoves(Dimension dimension, List<Object[]> counts, Long targetId) {
+        for (var row : counts) {
+            Long sourceId = row[0] == null ? TaskCounter.UNASSIGNED : (Long) row[0];
+            var count = (Long) row[1];
+            if (!sourceId.equals(targetId)) {
+                taskCounterService.increment(dimension, sourceId, -count);
+                taskCounterService.increment(dimension, targetId, count);
+            }
+        }
+    }
+
+    private static ResponseStatusException badRequest(String message) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, message);
+    }
+}
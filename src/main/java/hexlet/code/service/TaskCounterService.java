@@ -0,0 +1,247 @@
+package hexlet.code.service;
+
+import hexlet.code.cache.StatusCache;
+import hexlet.code.config.TaskProperties;
+import hexlet.code.dto.task.TaskStatsDTO;
+import hexlet.code.model.Label;
+import hexlet.code.model.Status;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskCounter;
+import hexlet.code.model.TaskCounter.Dimension;
+import hexlet.code.repository.TaskCounterRepository;
+import hexlet.code.repository.TaskRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class TaskCounterService {
+    private static final String RECONCILE_JOB = "task-counters-reconcile";
+
+    private final TaskCounterRepository taskCounterRepository;
+    private final TaskRepository taskRepository;
+    private final StatusCache statusCache;
+    private final JobLockService jobLockService;
+    private final TaskProperties taskProperties;
+    private final TransactionTemplate newTransaction;
+
+    public TaskCounterService(
+        TaskCounterRepository taskCounterRepository,
+        TaskRepository taskRepository,
+        StatusCache statusCache,
+        JobLockService jobLockService,
+        TaskProperties taskProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.taskCounterRepository = taskCounterRepository;
+        this.taskRepository = taskRepository;
+        this.statusCache = statusCache;
+        this.jobLockService = jobLockService;
+        this.taskProperties = taskProperties;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Transactional
+    public void record(Snapshot before, Snapshot after) {
+        if (before == null && after == null) {
+            return;
+        }
+        if (before == null) {
+            add(after, 1);
+            return;
+        }
+        if (after == null) {
+            add(before, -1);
+            return;
+        }
+
+        if (!before.getStatusId().equals(after.getStatusId())) {
+            increment(Dimension.STATUS, before.getStatusId(), -1);
+            increment(Dimension.STATUS, after.getStatusId(), 1);
+        }
+        if (!before.getAssigneeId().equals(after.getAssigneeId())) {
+            increment(Dimension.ASSIGNEE, before.getAssigneeId(), -1);
+            increment(Dimension.ASSIGNEE, after.getAssigneeId(), 1);
+        }
+        before.getLabelIds().stream()
+              .filter(labelId -> !after.getLabelIds().contains(labelId))
+              .forEach(labelId -> increment(Dimension.LABEL, labelId, -1));
+        after.getLabelIds().stream()
+             .filter(labelId -> !before.getLabelIds().contains(labelId))
+             .forEach(labelId -> increment(Dimension.LABEL, labelId, 1));
+    }
+
+    @Transactional
+    public void recordCreated(List<Snapshot> created) {
+        Map<TaskCounter.Key, Long> deltas = new HashMap<>();
+        for (var snapshot : created) {
+            deltas.merge(new TaskCounter.Key(Dimension.STATUS, snapshot.getStatusId()), 1L, Long::sum);
+            deltas.merge(new TaskCounter.Key(Dimension.ASSIGNEE, snapshot.getAssigneeId()), 1L, Long::sum);
+            snapshot.getLabelIds()
+                    .forEach(labelId -> deltas.merge(new TaskCounter.Key(Dimension.LABEL, labelId), 1L, Long::sum));
+        }
+        deltas.forEach((key, delta) -> increment(key.getDimension(), key.getRefId(), delta));
+    }
+
+    @Transactional
+    public void increment(Dimension dimension, Long refId, long delta) {
+        if (delta == 0 || taskCounterRepository.increment(dimension, refId, delta) > 0) {
+            return;
+        }
+
+        createIfMissing(dimension, refId);
+        taskCounterRepository.increment(dimension, refId, delta);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskStatsDTO getStats() {
+        var slugs = statusCache.getAll().stream()
+                               .collect(Collectors.toMap(Status::getId, Status::getSlug));
+        Map<String, Long> byStatus = new HashMap<>();
+        Map<Long, Long> byAssignee = new HashMap<>();
+        Map<Long, Long> byLabel = new HashMap<>();
+        var stats = new TaskStatsDTO();
+
+        for (var counter : taskCounterRepository.findAll()) {
+            var count = counter.getTaskCount();
+            switch (counter.getDimension()) {
+                case STATUS -> {
+                    stats.setTotal(stats.getTotal() + count);
+                    var slug = slugs.get(counter.getRefId());
+                    if (slug != null) {
+                        byStatus.put(slug, count);
+                    }
+                }
+                case ASSIGNEE -> {
+                    if (counter.getRefId() == TaskCounter.UNASSIGNED) {
+                        stats.setUnassigned(count);
+                    } else if (count > 0) {
+                        byAssignee.put(counter.getRefId(), count);
+                    }
+                }
+                case LABEL -> {
+                    if (count > 0) {
+                        byLabel.put(counter.getRefId(), count);
+                    }
+                }
+                default -> throw new IllegalStateException("Unknown dimension: " + counter.getDimension());
+            }
+        }
+
+        stats.setByStatus(byStatus);
+        stats.setByAssignee(byAssignee);
+        stats.setByLabel(byLabel);
+        return stats;
+    }
+
+    // Runs on one instance per interval. Each counter is locked before its tasks are counted, so the count includes
+    // every writer that incremented it before and writers still in flight add their delta on top afterwards.
+    @Scheduled(
+        initialDelayString = "${tasks.stats.reconcile-interval:PT10M}",
+        fixedDelayString = "${tasks.stats.reconcile-interval:PT10M}"
+    )
+    public void reconcile() {
+        if (!jobLockService.tryAcquire(RECONCILE_JOB, taskProperties.getStats().getReconcileInterval())) {
+            return;
+        }
+
+        Set<TaskCounter.Key> keys = new HashSet<>();
+        for (var counter : taskCounterRepository.findAll()) {
+            keys.add(new TaskCounter.Key(counter.getDimension(), counter.getRefId()));
+        }
+        collect(keys, Dimension.STATUS, taskRepository.countByStatus());
+        collect(keys, Dimension.ASSIGNEE, taskRepository.countByAssignee());
+        collect(keys, Dimension.LABEL, taskRepository.countByLabel());
+
+        var corrected = 0;
+        for (var key : keys) {
+            createIfMissing(key.getDimension(), key.getRefId());
+            if (Boolean.TRUE.equals(newTransaction.execute(status -> reconcile(key)))) {
+                corrected++;
+            }
+        }
+
+        if (corrected > 0) {
+            log.warn("task counters reconciled, {} counters corrected", corrected);
+        }
+    }
+
+    private boolean reconcile(TaskCounter.Key key) {
+        var counter = taskCounterRepository.findForUpdate(key.getDimension(), key.getRefId()).orElseThrow();
+        var count = switch (key.getDimension()) {
+            case STATUS -> taskRepository.countInStatus(key.getRefId());
+            case ASSIGNEE -> key.getRefId() == TaskCounter.UNASSIGNED
+                ? taskRepository.countUnassigned()
+                : taskRepository.countAssignedTo(key.getRefId());
+            case LABEL -> taskRepository.countWithLabel(key.getRefId());
+        };
+        if (counter.getTaskCount() == count) {
+            return false;
+        }
+        counter.setTaskCount(count);
+        return true;
+    }
+
+    // the row is created in its own transaction so that concurrent writers can all increment it afterwards
+    private void createIfMissing(Dimension dimension, Long refId) {
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                var key = new TaskCounter.Key(dimension, refId);
+                if (!taskCounterRepository.existsById(key)) {
+                    taskCounterRepository.saveAndFlush(new TaskCounter(dimension, refId, 0));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("task counter {}:{} was created concurrently", dimension, refId);
+        }
+    }
+
+    private void add(Snapshot snapshot, long delta) {
+        increment(Dimension.STATUS, snapshot.getStatusId(), delta);
+        increment(Dimension.ASSIGNEE, snapshot.getAssigneeId(), delta);
+        snapshot.getLabelIds().forEach(labelId -> increment(Dimension.LABEL, labelId, delta));
+    }
+
+    private static void collect(Set<TaskCounter.Key> target, Dimension dimension, List<Object[]> rows) {
+        for (var row : rows) {
+            var refId = row[0] == null ? TaskCounter.UNASSIGNED : (Long) row[0];
+            target.add(new TaskCounter.Key(dimension, refId));
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+        private final Long statusId;
+        private final Long assigneeId;
+        private final Set<Long> labelIds;
+
+        public static Snapshot of(Task task) {
+            var assigneeId = task.getAssignee() == null ? TaskCounter.UNASSIGNED : task.getAssignee().getId();
+            Set<Long> labelIds = task.getLabels() == null
+                ? new HashSet<>()
+                : task.getLabels().stream()
+                      .map(Label::getId)
+                      .filter(Objects::nonNull)
+                      .collect(Collectors.toSet());
+            return new Snapshot(task.getStatus().getId(), assigneeId, labelIds);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package hexlet.code.service;
+
+import hexlet.code.config.TaskProperties;
+import hexlet.code.model.Task;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.util.RankKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// New tasks are ranked at the bottom of their column on insert. Tasks moved by a bulk status change are left unranked,
+// sort below the ranked cards and get a rank from the scheduled job or when a move needs them as neighbours.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskRankService {
+    private final TaskRepository taskRepository;
+    private final TaskProperties taskProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    // concurrent inserts may tie on a key, a later move into that gap rebalances the column
+    public void assignRanks(List<Task> tasks) {
+        var columns = tasks.stream()
+                           .collect(Collectors.groupingBy(task -> task.getStatus().getId(), LinkedHashMap::new,
+                               Collectors.toList()));
+        columns.forEach((statusId, column) -> {
+            var last = taskRepository.findMaxRank(statusId).orElse(null);
+            var ranks = RankKeys.after(last, column.size());
+            for (var i = 0; i < column.size(); i++) {
+                column.get(i).setRank(ranks.get(i));
+            }
+        });
+    }
+
+    @Transactional
+    public String rankBetween(Long statusId, Long movedId, Long afterId, Long beforeId) {
+        if (touchesUnranked(statusId, movedId, afterId, beforeId)) {
+            rankUnranked(statusId, movedId);
+        }
+        var rank = findRankBetween(statusId, movedId, afterId, beforeId);
+        if (rank.isEmpty()) {
+            // two concurrent moves into the same gap leave equal keys, and a task created meanwhile has none
+            rebalanceColumn(statusId);
+            rank = findRankBetween(statusId, movedId, afterId, beforeId);
+        }
+        return rank.orElseThrow(() -> new ResponseStatusException(
+            HttpStatus.BAD_REQUEST, "Neighbours are out of order"));
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.rank.rebalance-interval:PT5M}")
+    public void rebalance() {
+        var maxLength = taskProperties.getRank().getMaxLength();
+        for (var statusId : taskRepository.findStatusIdsWithLongRanks(maxLength)) {
+            transactionTemplate.executeWithoutResult(status -> rebalanceColumn(statusId));
+            log.info("rebalanced task ranks of status {}", statusId);
+        }
+        for (var statusId : taskRepository.findStatusIdsWithUnrankedTasks()) {
+            transactionTemplate.executeWithoutResult(status -> rankUnranked(statusId, null));
+        }
+    }
+
+    private Optional<String> findRankBetween(Long statusId, Long movedId, Long afterId, Long beforeId) {
+        var lower = afterId == null ? null : findNeighbour(afterId, statusId, movedId).getRank();
+        var upper = beforeId == null ? null : findNeighbour(beforeId, statusId, movedId).getRank();
+        if (afterId != null && lower == null || beforeId != null && upper == null) {
+            return Optional.empty();
+        }
+
+        if (afterId != null && beforeId == null) {
+            upper = taskRepository.findNextRanked(statusId, lower, movedId)
+                                  .map(Task::getRank)
+                                  .orElse(null);
+        } else if (afterId == null && beforeId != null) {
+            lower = taskRepository.findPreviousRanked(statusId, upper, movedId)
+                                  .map(Task::getRank)
+                                  .orElse(null);
+        } else if (afterId == null) {
+            lower = taskRepository.findLastRanked(statusId)
+                                  .map(Task::getRank)
+                                  .orElse(null);
+        }
+
+        if (lower != null && upper != null && lower.compareTo(upper) >= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(RankKeys.between(lower, upper));
+    }
+
+    private Task findNeighbour(Long id, Long statusId, Long movedId) {
+        if (id.equals(movedId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A task cannot be its own neighbour");
+        }
+        return taskRepository.findByIdAndStatusId(id, statusId)
+                             .orElseThrow(() -> new ResponseStatusException(
+                                 HttpStatus.BAD_REQUEST, "Task " + id + " is not in the target column"));
+    }
+
+    // a card can only be placed next to an unranked card, or below all of them, once those have keys of their own
+    private boolean touchesUnranked(Long statusId, Long movedId, Long afterId, Long beforeId) {
+        if (afterId == null && beforeId == null) {
+            return taskRepository.existsUnranked(statusId, movedId);
+        }
+        return Stream.of(afterId, beforeId)
+                     .filter(Objects::nonNull)
+                     .anyMatch(id -> findNeighbour(id, statusId, movedId).getRank() == null);
+    }
+
+    private void rankUnranked(Long statusId, Long movedId) {
+        var unranked = taskRepository.findUnrankedForUpdate(statusId, movedId);
+        if (unranked.isEmpty()) {
+            return;
+        }
+
+        var last = taskRepository.findLastRanked(statusId)
+                                 .map(Task::getRank)
+                                 .orElse(null);
+        var ranks = RankKeys.after(last, unranked.size());
+        for (var i = 0; i < unranked.size(); i++) {
+            unranked.get(i).setRank(ranks.get(i));
+        }
+    }
+
+    private void rebalanceColumn(Long statusId) {
+        var tasks = taskRepository.findColumnForUpdate(statusId);
+        var ranks = RankKeys.spread(tasks.size());
+        for (var i = 0; i < tasks.size(); i++) {
+            tasks.get(i).setRank(ranks.get(i));
+        }
+    }
+}
@@ -1,25 +1,42 @@
 package hexlet.code.service;
 
+import hexlet.code.cache.TaskQueryCache;
+import hexlet.code.cache.TaskQueryKey;
+import hexlet.code.config.TaskProperties;
 import hexlet.code.dto.task.TaskCreateDTO;
+import hexlet.code.dto.task.TaskCursor;
 import hexlet.code.dto.task.TaskDTO;
 import hexlet.code.dto.task.TaskFilter;
+import hexlet.code.dto.task.TaskMoveDTO;
+import hexlet.code.dto.task.TaskPage;
+import hexlet.code.dto.task.TaskPageRequest;
 import hexlet.code.dto.task.TaskUpdateDTO;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.exception.TaskConflictException;
 import hexlet.code.mapper.TaskMapper;
-import hexlet.code.model.Status;
 import hexlet.code.model.Task;
-import hexlet.code.model.User;
-import hexlet.code.repository.StatusRepository;
+import hexlet.code.readmodel.TaskReadModel;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskSpecifications;
-import hexlet.code.repository.UserRepository;
+import hexlet.code.search.TaskSearchIndex;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.openapitools.jackson.nullable.JsonNullable;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -28,16 +45,55 @@ public class TaskService {
     @Autowired
     private final TaskRepository taskRepository;
     @Autowired
-    private final StatusRepository statusRepository;
+    private final TaskMapper taskMapper;
     @Autowired
-    private final UserRepository userRepository;
+    private final TaskProperties taskProperties;
     @Autowired
-    private final TaskMapper taskMapper;
+    private final TaskSearchIndex taskSearchIndex;
+    @Autowired
+    private final TaskReadModel taskReadModel;
+    @Autowired
+    private final TaskQueryCache taskQueryCache;
+    @Autowired
+    private final TaskCounterService taskCounterService;
+    @Autowired
+    private final ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private final TaskRankService taskRankService;
+    @Autowired
+    private final TransactionTemplate transactionTemplate;
 
-    public List<TaskDTO> getAll() {
-        return taskRepository.findAll().stream()
-                             .map(taskMapper::toDto)
-                             .toList();
+    // Tags a list without loading it, from one aggregate over the filter. Returns null when the page is answered
+    // from the read model or the result cache, where tagging the page itself is cheaper than the query.
+    @Transactional(readOnly = true)
+    public String getPageETag(TaskFilter filter) {
+        if (taskReadModel.isReady() || taskQueryCache.isEnabled()) {
+            return null;
+        }
+        return taskRepository.findListVersion(buildTaskSpecification(filter)).toETag();
+    }
+
+    @Transactional(readOnly = true)
+    public TaskPage getPage(TaskFilter filter, TaskPageRequest pageRequest) {
+        var after = pageRequest.getAfter() != null ? TaskCursor.decode(pageRequest.getAfter()) : null;
+        var offset = after == null && pageRequest.getStart() != null ? Math.max(pageRequest.getStart(), 0) : 0;
+        var limit = resolveLimit(pageRequest);
+
+        if (taskReadModel.isReady()) {
+            var page = taskReadModel.find(filter, after, offset, limit);
+            if (page != null) {
+                return page;
+            }
+        }
+
+        var key = TaskQueryKey.of(filter, pageRequest.getAfter(), offset, limit);
+        return taskQueryCache.get(key, () -> loadPage(filter, after, offset, limit));
+    }
+
+    @Transactional(readOnly = true)
+    public void streamTasks(TaskFilter filter, Consumer<TaskDTO> consumer) {
+        Specification<Task> spec = buildTaskSpecification(filter);
+        taskRepository.streamAll(spec, taskProperties.getStreaming().getFetchSize(), consumer);
     }
 
     public TaskDTO getById(Long id) {
@@ -49,49 +105,150 @@ public class TaskService {
     @Transactional
     public TaskDTO create(TaskCreateDTO dto) {
         Task task = taskMapper.toEntity(dto);
-
-        Status status = statusRepository.findBySlug(dto.getStatus())
-                                        .orElseThrow(() -> new IllegalArgumentException("Status not found"));
-        task.setStatus(status);
-
-        if (dto.getAssigneeId() != null) {
-            User assignee = userRepository.findById(dto.getAssigneeId())
-                                          .orElseThrow(() -> new IllegalArgumentException("User not found"));
-            task.setAssignee(assignee);
-        }
+        taskRankService.assignRanks(List.of(task));
 
         task = taskRepository.save(task);
-        return taskMapper.toDto(task);
+        taskCounterService.record(null, TaskCounterService.Snapshot.of(task));
+        var created = taskMapper.toDto(task);
+        eventPublisher.publishEvent(new TaskChangedEvent(null, created));
+        return created;
+    }
+
+    public Long getVersion(Long id) {
+        return taskRepository.findVersionById(id)
+                             .orElseThrow(() -> new EntityNotFoundException("Task not found"));
     }
 
+    @Transactional
     public TaskDTO update(Long id, TaskUpdateDTO taskUpdateDTO) {
+        return update(id, taskUpdateDTO, null);
+    }
+
+    @Transactional
+    public TaskDTO update(Long id, TaskUpdateDTO taskUpdateDTO, Long expectedVersion) {
         var task = taskRepository.findById(id).orElseThrow(() -> new EntityNotFoundException());
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Task has been modified");
+        }
+        var before = taskMapper.toDto(task);
+        var snapshot = TaskCounterService.Snapshot.of(task);
+        // the task is managed and flushed on commit; a merge would turn the label references into proxies
         taskMapper.updateEntity(taskUpdateDTO, task);
-        var updatedTask = taskRepository.save(task);
-        return taskMapper.toDto(updatedTask);
+        if (!snapshot.getStatusId().equals(task.getStatus().getId())) {
+            // a card dropped into another column goes to its bottom until it is moved explicitly
+            task.setRank(null);
+        }
+        taskCounterService.record(snapshot, TaskCounterService.Snapshot.of(task));
+        flush(id);
+        var updated = taskMapper.toDto(task);
+        eventPublisher.publishEvent(new TaskChangedEvent(before, updated));
+        return updated;
     }
 
     @Transactional
-    public void delete(Long id) {
-        taskRepository.deleteById(id);
+    public TaskDTO move(Long id, TaskMoveDTO dto) {
+        var task = taskRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Task not found"));
+        var status = dto.getStatus() != null ? taskMapper.toStatus(dto.getStatus()) : task.getStatus();
+        // only the moved row is written, its neighbours are read to pick a key between theirs; a rank-only change
+        // leaves the version and ETag alone
+        var rank = taskRankService.rankBetween(status.getId(), id, dto.getAfterId(), dto.getBeforeId());
+
+        var before = taskMapper.toDto(task);
+        var snapshot = TaskCounterService.Snapshot.of(task);
+        task.setStatus(status);
+        task.setRank(rank);
+        taskCounterService.record(snapshot, TaskCounterService.Snapshot.of(task));
+        flush(id);
+        var moved = taskMapper.toDto(task);
+        eventPublisher.publishEvent(new TaskChangedEvent(before, moved));
+        return moved;
     }
 
-    public List<TaskDTO> getFilteredTasks(TaskFilter filter) {
-        Specification<Task> spec = buildTaskSpecification(filter);
-        return findAndMapTasks(spec);
+    // label additions commute, so a conflicting write is replayed against the fresh state instead of surfacing as 409
+    public TaskDTO addLabels(Long id, Set<Long> labelIds) {
+        var concurrency = taskProperties.getConcurrency();
+        for (var attempt = 0; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> doAddLabels(id, labelIds));
+            } catch (TaskConflictException e) {
+                if (attempt >= concurrency.getMaxRetries()) {
+                    throw e;
+                }
+                backOff(concurrency.getRetryBackoff().toMillis(), e);
+            }
+        }
     }
 
-    private Specification<Task> buildTaskSpecification(TaskFilter filter) {
+    @Transactional
+    public void delete(Long id) {
+        taskRepository.findById(id).ifPresent(task -> {
+            var before = taskMapper.toDto(task);
+            taskCounterService.record(TaskCounterService.Snapshot.of(task), null);
+            taskRepository.delete(task);
+            eventPublisher.publishEvent(new TaskChangedEvent(before, null));
+        });
+    }
+
+    public Specification<Task> buildTaskSpecification(TaskFilter filter) {
         return Specification.<Task>where(null)
                             .and(TaskSpecifications.withNameContaining(filter.getTitleCont()))
+                            .and(TaskSpecifications.withIdIn(taskSearchIndex.findByTitle(filter.getTitleCont())))
+                            .and(TaskSpecifications.withDescriptionContaining(filter.getContentCont()))
+                            .and(TaskSpecifications.withIdIn(taskSearchIndex.findByContent(filter.getContentCont())))
                             .and(TaskSpecifications.withAssigneeId(filter.getAssigneeId()))
                             .and(TaskSpecifications.withStatus(filter.getStatus()))
-                            .and(TaskSpecifications.withLabelId(filter.getLabelId()));
+                            .and(TaskSpecifications.withLabelId(filter.getLabelId()))
+                            .and(TaskSpecifications.withLabelIds(filter.getLabelIds(), filter.isMatchAllLabels()));
     }
 
-    private List<TaskDTO> findAndMapTasks(Specification<Task> spec) {
-        return taskRepository.findAll(spec).stream()
-                             .map(taskMapper::toDto)
-                             .toList();
+    private TaskDTO doAddLabels(Long id, Set<Long> labelIds) {
+        var task = taskRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Task not found"));
+        Set<Long> merged = new HashSet<>(labelIds);
+        task.getLabels().forEach(label -> merged.add(label.getId()));
+
+        var dto = new TaskUpdateDTO();
+        dto.setTaskLabelIds(JsonNullable.of(merged));
+        return update(id, dto, null);
+    }
+
+    private void flush(Long id) {
+        // flushing assigns the new version, which the response ETag is built from,
+        // and fails here when a concurrent writer has already committed over the version we read
+        try {
+            taskRepository.flush();
+        } catch (ConcurrencyFailureException e) {
+            throw new TaskConflictException(id, e);
+        }
+    }
+
+    private static void backOff(long millis, TaskConflictException conflict) {
+        try {
+            Thread.sleep(millis + ThreadLocalRandom.current().nextLong(millis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+
+    private TaskPage loadPage(TaskFilter filter, TaskCursor after, int offset, int limit) {
+        Specification<Task> spec = buildTaskSpecification(filter);
+        var tasks = taskRepository.findSlice(spec, after, offset, limit + 1);
+        var content = tasks.size() > limit ? tasks.subList(0, limit) : tasks;
+        var nextCursor = tasks.size() > limit ? TaskCursor.of(content.getLast()).encode() : null;
+
+        return new TaskPage(content, taskRepository.count(spec), nextCursor);
+    }
+
+    private int resolveLimit(TaskPageRequest pageRequest) {
+        var pagination = taskProperties.getPagination();
+        int limit;
+        if (pageRequest.getLimit() != null) {
+            limit = pageRequest.getLimit();
+        } else if (pageRequest.getStart() != null && pageRequest.getEnd() != null) {
+            limit = pageRequest.getEnd() - pageRequest.getStart();
+        } else {
+            limit = pagination.getDefaultLimit();
+        }
+        return Math.min(Math.max(limit, 1), pagination.getMaxLimit());
     }
 }
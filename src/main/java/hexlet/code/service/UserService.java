@@ -3,10 +3,12 @@ package hexlet.code.service;
 import hexlet.code.dto.user.UserCreateDTO;
 import hexlet.code.dto.user.UserDTO;
 import hexlet.code.dto.user.UserUpdateDTO;
+import hexlet.code.event.UserChangedEvent;
 import hexlet.code.mapper.UserMapper;
 import hexlet.code.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -20,6 +22,9 @@ public class UserService {
     @Autowired
     private UserMapper userMapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<UserDTO> getAll() {
         return userRepository.findAll().stream()
                              .map(userMapper::toDTO)
@@ -43,15 +48,17 @@ public class UserService {
         var user = userRepository.findById(id)
                                  .orElseThrow(() -> new EntityNotFoundException());
 
+        var oldEmail = user.getEmail();
         userMapper.update(userUpdateDTO, user);
         var updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(oldEmail));
         return userMapper.toDTO(updatedUser);
     }
 
     public void delete(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new EntityNotFoundException("User not found with id: " + id);
-        }
-        userRepository.deleteById(id);
+        var user = userRepository.findById(id)
+                                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
+        userRepository.delete(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getEmail()));
     }
 }
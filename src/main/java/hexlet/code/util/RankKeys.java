@@ -0,0 +1,117 @@
+package hexlet.code.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Keys are base-36 fractions in (0, 1) written without the leading "0." and never ending in '0',
+// so there is always room for another key between any two of them.
+public final class RankKeys {
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+    private static final int APPEND_WIDTH = 4;
+
+    private RankKeys() {
+    }
+
+    public static String between(String lower, String upper) {
+        var low = lower == null ? "" : lower;
+        if (upper != null && low.compareTo(upper) >= 0) {
+            throw new IllegalArgumentException("Rank " + lower + " is not below " + upper);
+        }
+        return midpoint(low, upper);
+    }
+
+    // appending steps one unit in the fourth digit instead of halving the gap to the end, which would add a character
+    // every few cards, so a column takes about a million cards at the bottom before its keys grow
+    public static List<String> after(String lower, int count) {
+        List<String> keys = new ArrayList<>(count);
+        var key = lower;
+        for (var i = 0; i < count; i++) {
+            key = next(key);
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    public static List<String> spread(int count) {
+        var width = 1;
+        var slots = (long) BASE;
+        while (slots <= count) {
+            width++;
+            slots *= BASE;
+        }
+
+        var step = slots / (count + 1);
+        List<String> keys = new ArrayList<>(count);
+        for (var i = 1; i <= count; i++) {
+            keys.add(toKey(i * step, width));
+        }
+        return keys;
+    }
+
+    private static String next(String lower) {
+        if (lower == null || lower.isEmpty()) {
+            return midpoint("", null);
+        }
+
+        var width = Math.max(lower.length(), APPEND_WIDTH);
+        var key = (lower + "0".repeat(width - lower.length())).toCharArray();
+        for (var i = width - 1; i >= 0; i--) {
+            var digit = digit(key[i]);
+            if (digit < BASE - 1) {
+                key[i] = DIGITS.charAt(digit + 1);
+                return new String(key, 0, i + 1);
+            }
+        }
+        return midpoint(lower, null);
+    }
+
+    private static String midpoint(String low, String high) {
+        if (high != null) {
+            var common = 0;
+            while (common < high.length() && digitAt(low, common) == digit(high.charAt(common))) {
+                common++;
+            }
+            if (common > 0) {
+                var rest = low.substring(Math.min(common, low.length()));
+                return high.substring(0, common) + midpoint(rest, high.substring(common));
+            }
+        }
+
+        var lowDigit = digitAt(low, 0);
+        var highDigit = high == null ? BASE : digit(high.charAt(0));
+        if (highDigit - lowDigit > 1) {
+            return String.valueOf(DIGITS.charAt((lowDigit + highDigit) / 2));
+        }
+        if (high != null && high.length() > 1) {
+            return high.substring(0, 1);
+        }
+        return DIGITS.charAt(lowDigit) + midpoint(low.isEmpty() ? "" : low.substring(1), null);
+    }
+
+    private static String toKey(long value, int width) {
+        var key = new char[width];
+        for (var i = width - 1; i >= 0; i--) {
+            key[i] = DIGITS.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+
+        var length = width;
+        while (key[length - 1] == '0') {
+            length--;
+        }
+        return new String(key, 0, length);
+    }
+
+    private static int digitAt(String key, int position) {
+        return position < key.length() ? digit(key.charAt(position)) : 0;
+    }
+
+    private static int digit(char c) {
+        var digit = DIGITS.indexOf(c);
+        if (digit < 0) {
+            throw new IllegalArgumentException("Invalid rank character: " + c);
+        }
+        return digit;
+    }
+}
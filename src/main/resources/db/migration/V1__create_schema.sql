@@ -0,0 +1,46 @@
+create table users (
+    id bigint generated by default as identity primary key,
+    first_name varchar(255),
+    last_name varchar(255),
+    email varchar(255),
+    password varchar(255),
+    created_at date,
+    updated_at date,
+    constraint uk_users_email unique (email)
+);
+
+create table statuses (
+    id bigint generated by default as identity primary key,
+    name varchar(255) not null,
+    slug varchar(255) not null,
+    created_at date not null,
+    constraint uk_statuses_name unique (name),
+    constraint uk_statuses_slug unique (slug)
+);
+
+create table labels (
+    id bigint generated by default as identity primary key,
+    name varchar(1000) not null,
+    created_at date,
+    constraint uk_labels_name unique (name)
+);
+
+create table tasks (
+    id bigint generated by default as identity primary key,
+    name varchar(255) not null,
+    index integer,
+    description varchar(255),
+    status_id bigint not null,
+    assignee_id bigint,
+    created_at date not null,
+    constraint fk_tasks_status foreign key (status_id) references statuses (id),
+    constraint fk_tasks_assignee foreign key (assignee_id) references users (id)
+);
+
+create table task_label (
+    task_id bigint not null,
+    label_id bigint not null,
+    constraint pk_task_label primary key (task_id, label_id),
+    constraint fk_task_label_task foreign key (task_id) references tasks (id),
+    constraint fk_task_label_label foreign key (label_id) references labels (id)
+);
@@ -0,0 +1,5 @@
+create index idx_tasks_created_at_id on tasks (created_at, id);
+create index idx_tasks_status_created_at on tasks (status_id, created_at, id);
+create index idx_tasks_assignee_created_at on tasks (assignee_id, created_at, id);
+create index idx_tasks_status_assignee on tasks (status_id, assignee_id);
+create index idx_task_label_label_id on task_label (label_id, task_id);
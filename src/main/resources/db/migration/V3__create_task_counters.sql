@@ -0,0 +1,15 @@
+create table task_counters (
+    dimension varchar(16) not null,
+    ref_id bigint not null,
+    task_count bigint not null,
+    constraint pk_task_counters primary key (dimension, ref_id)
+);
+
+insert into task_counters (dimension, ref_id, task_count)
+select 'STATUS', status_id, count(*) from tasks group by status_id;
+
+insert into task_counters (dimension, ref_id, task_count)
+select 'ASSIGNEE', coalesce(assignee_id, 0), count(*) from tasks group by coalesce(assignee_id, 0);
+
+insert into task_counters (dimension, ref_id, task_count)
+select 'LABEL', label_id, count(*) from task_label group by label_id;
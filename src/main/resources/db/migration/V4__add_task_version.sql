@@ -0,0 +1,4 @@
+alter table tasks add column version bigint default 0 not null;
+alter table tasks add column updated_at timestamp(6) with time zone;
+
+update tasks set updated_at = current_timestamp;
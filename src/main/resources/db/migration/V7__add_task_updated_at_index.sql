@@ -0,0 +1 @@
+create index idx_tasks_updated_at on tasks (updated_at);
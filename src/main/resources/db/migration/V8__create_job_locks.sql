@@ -0,0 +1,6 @@
+create table job_locks (
+    name varchar(64) not null,
+    locked_until timestamp(6) with time zone not null,
+    locked_by varchar(64) not null,
+    constraint pk_job_locks primary key (name)
+);
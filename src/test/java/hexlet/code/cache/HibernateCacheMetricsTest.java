@@ -0,0 +1,48 @@
+package hexlet.code.cache;
+
+import hexlet.code.model.Status;
+import hexlet.code.repository.StatusRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class HibernateCacheMetricsTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void clean() {
+        statusRepository.deleteAll();
+    }
+
+    @Test
+    void testHitRatioWithoutHibernateStatistics() {
+        assertThat(entityManagerFactory.unwrap(SessionFactory.class).getStatistics().isStatisticsEnabled()).isFalse();
+
+        var status = new Status();
+        status.setName("Metrics");
+        status.setSlug("metrics");
+        statusRepository.save(status);
+        statusRepository.findById(status.getId());
+        statusRepository.findById(status.getId());
+
+        var ratio = meterRegistry.get("hibernate.cache.hit.ratio").tag("region", "statuses").gauge().value();
+        assertThat(ratio).isGreaterThan(0).isLessThanOrEqualTo(1);
+        assertThat(meterRegistry.find("hibernate.cache.hit.ratio").tag("region", "statuses-bySlug").gauge())
+            .isNotNull();
+    }
+}
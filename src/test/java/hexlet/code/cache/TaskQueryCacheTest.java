@@ -0,0 +1,218 @@
+package hexlet.code.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.task.TaskBulkUpdateDTO;
+import hexlet.code.dto.task.TaskCreateDTO;
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskUpdateDTO;
+import hexlet.code.model.Label;
+import hexlet.code.model.Status;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.StatusRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.jackson.nullable.JsonNullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.JwtRequestPostProcessor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "tasks.cache.enabled=true")
+@AutoConfigureMockMvc
+class TaskQueryCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private JwtRequestPostProcessor token;
+    private Status todo;
+    private Status done;
+    private Label bug;
+    private Label feature;
+    private TaskDTO task;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        var user = new User();
+        user.setEmail("cached@example.com");
+        user.setPassword("password");
+        userRepository.save(user);
+        token = jwt().jwt(builder -> builder.subject(user.getEmail()));
+
+        todo = new Status();
+        todo.setName("Cache todo");
+        todo.setSlug("cache-todo");
+        statusRepository.save(todo);
+
+        done = new Status();
+        done.setName("Cache done");
+        done.setSlug("cache-done");
+        statusRepository.save(done);
+
+        bug = new Label();
+        bug.setName("Cache bug");
+        labelRepository.save(bug);
+
+        feature = new Label();
+        feature.setName("Cache feature");
+        labelRepository.save(feature);
+
+        var request = new TaskCreateDTO();
+        request.setTitle("Cached task");
+        request.setStatus(todo.getSlug());
+        request.setTaskLabelIds(Set.of(bug.getId()));
+        var body = mockMvc.perform(post("/api/tasks")
+                                       .with(token)
+                                       .contentType(MediaType.APPLICATION_JSON)
+                                       .content(objectMapper.writeValueAsString(request)))
+                          .andExpect(status().isCreated())
+                          .andReturn()
+                          .getResponse()
+                          .getContentAsString();
+        task = objectMapper.readValue(body, TaskDTO.class);
+    }
+
+    @AfterEach
+    void clean() {
+        taskRepository.deleteAll();
+        labelRepository.deleteAll();
+        statusRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testCachedPageIsServed() throws Exception {
+        var request = get("/api/tasks").param("status", todo.getSlug());
+        assertThat(statementsFor(request)).isPositive();
+
+        assertThat(statementsFor(request)).isZero();
+        assertThat(find(request)).extracting(TaskDTO::getId).containsExactly(task.getId());
+    }
+
+    @Test
+    void testTaskChangeInvalidates() throws Exception {
+        assertThat(find(get("/api/tasks"))).extracting(TaskDTO::getTitle).containsExactly("Cached task");
+
+        var data = new TaskUpdateDTO();
+        data.setTitle(JsonNullable.of("Renamed task"));
+        mockMvc.perform(put("/api/tasks/" + task.getId())
+                            .with(token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(data)))
+               .andExpect(status().isOk());
+
+        assertThat(find(get("/api/tasks"))).extracting(TaskDTO::getTitle).containsExactly("Renamed task");
+    }
+
+    @Test
+    void testBulkChangeInvalidates() throws Exception {
+        assertThat(find(get("/api/tasks").param("status", todo.getSlug()))).hasSize(1);
+        assertThat(find(get("/api/tasks").param("status", done.getSlug()))).isEmpty();
+
+        var data = new TaskBulkUpdateDTO();
+        data.setIds(Set.of(task.getId()));
+        data.setStatus(done.getSlug());
+        mockMvc.perform(patch("/api/tasks/bulk")
+                            .with(token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(data)))
+               .andExpect(status().isOk());
+
+        assertThat(find(get("/api/tasks").param("status", todo.getSlug()))).isEmpty();
+        assertThat(find(get("/api/tasks").param("status", done.getSlug()))).hasSize(1);
+    }
+
+    @Test
+    void testDeletedLabelInvalidatesFilteringPages() throws Exception {
+        var request = get("/api/tasks").param("labelId", feature.getId().toString());
+        find(request);
+        assertThat(statementsFor(request)).isZero();
+
+        mockMvc.perform(delete("/api/labels/" + feature.getId()).with(token))
+               .andExpect(status().isNoContent());
+
+        assertThat(statementsFor(request)).isPositive();
+    }
+
+    @Test
+    void testDeletedLabelInvalidatesPagesContainingIt() throws Exception {
+        assertThat(find(get("/api/tasks").param("status", todo.getSlug())))
+            .extracting(TaskDTO::getTaskLabelIds)
+            .containsExactly(Set.of(bug.getId()));
+
+        // the label leaves the task without a task event, so only the label deletion can drop the page
+        jdbcTemplate.update("delete from task_label where label_id = ?", bug.getId());
+        mockMvc.perform(delete("/api/labels/" + bug.getId()).with(token))
+               .andExpect(status().isNoContent());
+
+        assertThat(find(get("/api/tasks").param("status", todo.getSlug())))
+            .extracting(TaskDTO::getTaskLabelIds)
+            .containsExactly(Set.of());
+    }
+
+    private long statementsFor(MockHttpServletRequestBuilder request) throws Exception {
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        var statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            find(request);
+            return statistics.getPrepareStatementCount();
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
+    private List<TaskDTO> find(MockHttpServletRequestBuilder request) throws Exception {
+        var body = mockMvc.perform(request.with(jwt()))
+                          .andExpect(status().isOk())
+                          .andReturn()
+                          .getResponse()
+                          .getContentAsString();
+        return objectMapper.readValue(body, new TypeReference<>() { });
+    }
+}
@@ -0,0 +1,73 @@
+package hexlet.code.config.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingAuthenticationProviderTest {
+    private final AtomicInteger checks = new AtomicInteger();
+
+    private final AuthenticationProvider delegate = new AuthenticationProvider() {
+        @Override
+        public Authentication authenticate(Authentication authentication) {
+            checks.incrementAndGet();
+            if (!"secret".equals(authentication.getCredentials())) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            return UsernamePasswordAuthenticationToken.authenticated(authentication.getName(), null, List.of());
+        }
+
+        @Override
+        public boolean supports(Class<?> authentication) {
+            return true;
+        }
+    };
+    private final CachingAuthenticationProvider provider = new CachingAuthenticationProvider(delegate, 100,
+        Duration.ofMinutes(1));
+
+    @Test
+    void testCachesSuccessfulAuthentication() {
+        var first = provider.authenticate(credentials("user@example.com", "secret"));
+        var second = provider.authenticate(credentials("user@example.com", "secret"));
+
+        assertThat(checks).hasValue(1);
+        assertThat(second.isAuthenticated()).isTrue();
+        assertThat(second.getName()).isEqualTo(first.getName());
+    }
+
+    @Test
+    void testWrongPasswordIsNotServedFromCache() {
+        provider.authenticate(credentials("user@example.com", "secret"));
+
+        assertThatThrownBy(() -> provider.authenticate(credentials("user@example.com", "guess")))
+            .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> provider.authenticate(credentials("user@example.com", "guess")))
+            .isInstanceOf(BadCredentialsException.class);
+        assertThat(checks).hasValue(3);
+    }
+
+    @Test
+    void testInvalidate() {
+        provider.authenticate(credentials("user@example.com", "secret"));
+        provider.authenticate(credentials("other@example.com", "secret"));
+
+        provider.invalidate("user@example.com");
+        provider.authenticate(credentials("user@example.com", "secret"));
+        provider.authenticate(credentials("other@example.com", "secret"));
+
+        assertThat(checks).hasValue(3);
+    }
+
+    private static Authentication credentials(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
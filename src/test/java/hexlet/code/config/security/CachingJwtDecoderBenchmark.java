@@ -0,0 +1,79 @@
+package hexlet.code.config.security;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run with ./gradlew benchmark; a decode is the per-request cost the cache removes, so decodes/s bounds requests/s.
+@Tag("benchmark")
+class CachingJwtDecoderBenchmark {
+    private static final int USERS = 50;
+    private static final int WARMUP = 5_000;
+    private static final int ITERATIONS = 50_000;
+
+    @Test
+    void compareDecoders() throws Exception {
+        var generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        var keyPair = generator.generateKeyPair();
+        var publicKey = (RSAPublicKey) keyPair.getPublic();
+        var jwk = new RSAKey.Builder(publicKey).privateKey((RSAPrivateKey) keyPair.getPrivate()).build();
+        var encoder = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(jwk)));
+
+        var tokens = IntStream.range(0, USERS)
+                              .mapToObj(i -> token(encoder, "user" + i + "@example.com"))
+                              .toList();
+        var plain = NimbusJwtDecoder.withPublicKey(publicKey).build();
+        var cached = new CachingJwtDecoder(NimbusJwtDecoder.withPublicKey(publicKey).build(), 1000,
+            Duration.ofMinutes(10));
+
+        var plainRate = measure(plain, tokens);
+        var cachedRate = measure(cached, tokens);
+        System.out.printf("NimbusJwtDecoder:  %,12.0f decodes/s, %8.2f us per decode%n", plainRate, 1e6 / plainRate);
+        System.out.printf("CachingJwtDecoder: %,12.0f decodes/s, %8.2f us per decode (%.1fx)%n", cachedRate,
+            1e6 / cachedRate, cachedRate / plainRate);
+
+        assertThat(cached.decode(tokens.getFirst()).getSubject()).isEqualTo("user0@example.com");
+    }
+
+    private static String token(JwtEncoder encoder, String subject) {
+        var now = Instant.now();
+        var claims = JwtClaimsSet.builder()
+                                 .issuer("self")
+                                 .issuedAt(now)
+                                 .expiresAt(now.plus(Duration.ofHours(1)))
+                                 .subject(subject)
+                                 .build();
+        return encoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+    }
+
+    private static double measure(JwtDecoder decoder, List<String> tokens) {
+        for (var i = 0; i < WARMUP; i++) {
+            decoder.decode(tokens.get(i % tokens.size()));
+        }
+
+        var started = System.nanoTime();
+        for (var i = 0; i < ITERATIONS; i++) {
+            decoder.decode(tokens.get(i % tokens.size()));
+        }
+        return ITERATIONS * 1e9 / (System.nanoTime() - started);
+    }
+}
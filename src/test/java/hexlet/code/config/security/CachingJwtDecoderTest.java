@@ -0,0 +1,80 @@
+package hexlet.code.config.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingJwtDecoderTest {
+    private final AtomicInteger decodes = new AtomicInteger();
+
+    @Test
+    void testCachesDecodedToken() {
+        var decoder = cachingDecoder(Instant.now().plus(Duration.ofHours(1)));
+
+        var first = decoder.decode("token-a");
+        assertThat(decoder.decode("token-a")).isSameAs(first);
+        assertThat(decodes).hasValue(1);
+
+        decoder.decode("token-b");
+        assertThat(decodes).hasValue(2);
+    }
+
+    @Test
+    void testDoesNotServeExpiredToken() {
+        var decoder = cachingDecoder(Instant.now().minusSeconds(1));
+
+        decoder.decode("token-a");
+        decoder.decode("token-a");
+        assertThat(decodes).hasValue(2);
+    }
+
+    @Test
+    void testDoesNotCacheFailures() {
+        JwtDecoder delegate = token -> {
+            decodes.incrementAndGet();
+            throw new BadJwtException("bad signature");
+        };
+        var decoder = new CachingJwtDecoder(delegate, 100, Duration.ofMinutes(10));
+
+        assertThatThrownBy(() -> decoder.decode("token-a")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("token-a")).isInstanceOf(BadJwtException.class);
+        assertThat(decodes).hasValue(2);
+    }
+
+    @Test
+    void testHitRatioMetric() {
+        var decoder = cachingDecoder(Instant.now().plus(Duration.ofHours(1)));
+        var registry = new SimpleMeterRegistry();
+        decoder.bindTo(registry);
+
+        decoder.decode("token-a");
+        decoder.decode("token-a");
+        decoder.decode("token-a");
+        decoder.decode("token-a");
+
+        assertThat(registry.get("jwt.cache.hit.ratio").gauge().value()).isEqualTo(0.75);
+        assertThat(registry.get("cache.gets").tag("cache", "jwt").tag("result", "hit").functionCounter().count())
+            .isEqualTo(3);
+    }
+
+    private CachingJwtDecoder cachingDecoder(Instant expiresAt) {
+        JwtDecoder delegate = token -> {
+            decodes.incrementAndGet();
+            return Jwt.withTokenValue(token)
+                      .header("alg", "RS256")
+                      .subject("user@example.com")
+                      .expiresAt(expiresAt)
+                      .build();
+        };
+        return new CachingJwtDecoder(delegate, 100, Duration.ofMinutes(10));
+    }
+}
@@ -0,0 +1,44 @@
+package hexlet.code.config.security;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run with ./gradlew benchmark. Verification goes through KeyRingJwtDecoder without the JWT cache in front of it.
+@Tag("benchmark")
+class JwtAlgorithmBenchmark {
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 10_000;
+
+    @Test
+    void compareAlgorithms() throws Exception {
+        for (var algorithm : JwtAlgorithm.values()) {
+            var ring = new JwtKeyRing(List.of(JwtKeyRingTest.key("bench", algorithm)), "bench");
+            var decoder = new KeyRingJwtDecoder(ring);
+
+            for (var i = 0; i < WARMUP; i++) {
+                decoder.decode(JwtKeyRingTest.encode(ring, "user" + i + "@example.com"));
+            }
+
+            var tokens = new String[ITERATIONS];
+            var started = System.nanoTime();
+            for (var i = 0; i < ITERATIONS; i++) {
+                tokens[i] = JwtKeyRingTest.encode(ring, "user" + i + "@example.com");
+            }
+            var signing = System.nanoTime() - started;
+
+            started = System.nanoTime();
+            for (var token : tokens) {
+                decoder.decode(token);
+            }
+            var verifying = System.nanoTime() - started;
+
+            System.out.printf("%-6s sign: %,10.0f tokens/s   verify: %,10.0f tokens/s   size: %d bytes%n",
+                algorithm, ITERATIONS * 1e9 / signing, ITERATIONS * 1e9 / verifying, tokens[0].length());
+            assertThat(decoder.decode(tokens[0]).getSubject()).isEqualTo("user0@example.com");
+        }
+    }
+}
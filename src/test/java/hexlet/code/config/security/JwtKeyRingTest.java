@@ -0,0 +1,98 @@
+package hexlet.code.config.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyRingTest {
+
+    @ParameterizedTest
+    @EnumSource(JwtAlgorithm.class)
+    void testRoundTrip(JwtAlgorithm algorithm) throws Exception {
+        var ring = new JwtKeyRing(List.of(key("k1", algorithm)), "k1");
+
+        var token = encode(ring, "user@example.com");
+        var jwt = new KeyRingJwtDecoder(ring).decode(token);
+
+        assertThat(jwt.getSubject()).isEqualTo("user@example.com");
+        assertThat(jwt.getHeaders()).containsEntry("kid", "k1")
+                                    .containsEntry("alg", algorithm.getJwsAlgorithm().getName());
+    }
+
+    @Test
+    void testRotation() throws Exception {
+        var oldKey = key("old", JwtAlgorithm.RS256);
+        var newKey = key("new", JwtAlgorithm.EDDSA);
+        var beforeRotation = new JwtKeyRing(List.of(oldKey), "old");
+        var duringRotation = new JwtKeyRing(List.of(oldKey, newKey), "new");
+        var afterRotation = new JwtKeyRing(List.of(newKey), "new");
+
+        var oldToken = encode(beforeRotation, "user@example.com");
+        var newToken = encode(duringRotation, "user@example.com");
+
+        assertThat(new KeyRingJwtDecoder(duringRotation).decode(oldToken).getHeaders()).containsEntry("kid", "old");
+        assertThat(new KeyRingJwtDecoder(duringRotation).decode(newToken).getHeaders()).containsEntry("kid", "new");
+        assertThat(new KeyRingJwtDecoder(afterRotation).decode(newToken).getSubject()).isEqualTo("user@example.com");
+        assertThatThrownBy(() -> new KeyRingJwtDecoder(afterRotation).decode(oldToken))
+            .isInstanceOf(BadJwtException.class);
+    }
+
+    @Test
+    void testRejectsForgedSignature() throws Exception {
+        var ring = new JwtKeyRing(List.of(key("k1", JwtAlgorithm.ES256)), "k1");
+        var impostor = new JwtKeyRing(List.of(key("k1", JwtAlgorithm.ES256)), "k1");
+
+        var forged = encode(impostor, "admin@example.com");
+
+        assertThatThrownBy(() -> new KeyRingJwtDecoder(ring).decode(forged)).isInstanceOf(BadJwtException.class);
+    }
+
+    @Test
+    void testActiveKeyNeedsPrivateKey() throws Exception {
+        var keyPair = keyPair(JwtAlgorithm.RS256);
+        var verifyOnly = new JwtKey("k1", JwtAlgorithm.RS256, keyPair.getPublic(), null);
+
+        assertThatThrownBy(() -> new JwtKeyRing(List.of(verifyOnly), "k1"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    static JwtKey key(String id, JwtAlgorithm algorithm) throws GeneralSecurityException {
+        var keyPair = keyPair(algorithm);
+        return new JwtKey(id, algorithm, keyPair.getPublic(), keyPair.getPrivate());
+    }
+
+    static KeyPair keyPair(JwtAlgorithm algorithm) throws GeneralSecurityException {
+        var generator = KeyPairGenerator.getInstance(algorithm.getKeyAlgorithm());
+        switch (algorithm) {
+            case RS256 -> generator.initialize(2048);
+            case ES256 -> generator.initialize(new ECGenParameterSpec("secp256r1"));
+            default -> { }
+        }
+        return generator.generateKeyPair();
+    }
+
+    static String encode(JwtKeyRing ring, String subject) {
+        var now = Instant.now();
+        var claims = JwtClaimsSet.builder()
+                                 .issuer("self")
+                                 .issuedAt(now)
+                                 .expiresAt(now.plus(Duration.ofHours(1)))
+                                 .subject(subject)
+                                 .build();
+        return new KeyRingJwtEncoder(ring).encode(JwtEncoderParameters.from(claims)).getTokenValue();
+    }
+}
@@ -0,0 +1,88 @@
+package hexlet.code.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.AuthDTO;
+import hexlet.code.model.User;
+import hexlet.code.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @BeforeEach
+    void setUp() {
+        var user = new User();
+        user.setEmail("login@example.com");
+        user.setPassword(passwordEncoder.encode("password"));
+        user.setFirstName("Login");
+        user.setLastName("User");
+        userRepository.save(user);
+    }
+
+    @AfterEach
+    void clean() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testLogin() throws Exception {
+        var result = mockMvc.perform(post("/api/login")
+                                         .contentType(MediaType.APPLICATION_JSON)
+                                         .content(om.writeValueAsString(credentials("password"))))
+                            .andExpect(request().asyncStarted())
+                            .andReturn();
+        var token = mockMvc.perform(asyncDispatch(result))
+                           .andExpect(status().isOk())
+                           .andReturn()
+                           .getResponse()
+                           .getContentAsString();
+
+        mockMvc.perform(get("/api/users").header("Authorization", "Bearer " + token))
+               .andExpect(status().isOk());
+    }
+
+    @Test
+    void testLoginWithWrongPassword() throws Exception {
+        var result = mockMvc.perform(post("/api/login")
+                                         .contentType(MediaType.APPLICATION_JSON)
+                                         .content(om.writeValueAsString(credentials("wrong"))))
+                            .andExpect(request().asyncStarted())
+                            .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+               .andExpect(status().isUnauthorized());
+    }
+
+    private static AuthDTO credentials(String password) {
+        var dto = new AuthDTO();
+        dto.setUsername("login@example.com");
+        dto.setPassword(password);
+        return dto;
+    }
+}
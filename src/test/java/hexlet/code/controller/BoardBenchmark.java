@@ -0,0 +1,96 @@
+package hexlet.code.controller;
+
+import hexlet.code.model.Status;
+import hexlet.code.repository.StatusRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Run with ./gradlew benchmark. Loads the board through GET /api/board and the way the SPA did before, the statuses
+// and then one filtered /api/tasks call per column, for a growing number of columns over the same tasks.
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+class BoardBenchmark {
+    private static final int TASKS = 20_000;
+    private static final int CALLS = 50;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void clean() {
+        jdbcTemplate.update("delete from tasks");
+        statusRepository.deleteAll();
+    }
+
+    @Test
+    void boardLatency() throws Exception {
+        for (var columns : List.of(5, 20, 50)) {
+            var statuses = statusRepository.saveAll(IntStream.range(0, columns).mapToObj(i -> {
+                var status = new Status();
+                status.setName("Column " + i);
+                status.setSlug("column-" + i);
+                return status;
+            }).toList());
+
+            var rows = new ArrayList<Object[]>(TASKS);
+            for (var id = 1L; id <= TASKS; id++) {
+                rows.add(new Object[] {id, "Card " + id, statuses.get((int) (id % columns)).getId(), (int) id});
+            }
+            jdbcTemplate.batchUpdate("insert into tasks (id, name, status_id, index, created_at, updated_at) "
+                + "values (?, ?, ?, ?, current_date, current_timestamp)", rows);
+
+            var board = measure(() -> mockMvc.perform(get("/api/board").with(jwt()))
+                                             .andExpect(status().isOk()));
+            var perColumn = measure(() -> {
+                mockMvc.perform(get("/api/task_statuses").with(jwt()))
+                       .andExpect(status().isOk());
+                for (var status : statuses) {
+                    mockMvc.perform(get("/api/tasks").param("status", status.getSlug()).param("limit", "20")
+                                                     .with(jwt()))
+                           .andExpect(status().isOk());
+                }
+            });
+            System.out.printf("%d columns over %d tasks: GET /api/board %.2f ms, per-column calls %.2f ms%n",
+                columns, TASKS, board, perColumn);
+
+            clean();
+        }
+    }
+
+    private static double measure(Call call) throws Exception {
+        for (var i = 0; i < 5; i++) {
+            call.run();
+        }
+
+        var started = System.nanoTime();
+        for (var i = 0; i < CALLS; i++) {
+            call.run();
+        }
+        return (System.nanoTime() - started) / 1e6 / CALLS;
+    }
+
+    private interface Call {
+        void run() throws Exception;
+    }
+}
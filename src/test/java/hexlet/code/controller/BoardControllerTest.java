@@ -0,0 +1,291 @@
+package hexlet.code.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.board.BoardColumnDTO;
+import hexlet.code.dto.task.TaskCreateDTO;
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskMoveDTO;
+import hexlet.code.model.Label;
+import hexlet.code.model.Status;
+import hexlet.code.model.Task;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.StatusRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.service.TaskRankService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BoardControllerTest {
+
+    @Autowired
+    private WebApplicationContext wac;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private TaskRankService taskRankService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper om;
+
+    private Status testStatus;
+    private Status emptyStatus;
+    private Label testLabel;
+    private Task firstTask;
+    private Task secondTask;
+    private Task thirdTask;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(wac)
+                                 .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+                                 .apply(springSecurity())
+                                 .build();
+
+        testStatus = statusRepository.save(new Status("Board Status", "board-status"));
+        emptyStatus = statusRepository.save(new Status("Empty Status", "empty-status"));
+
+        testLabel = new Label();
+        testLabel.setName("Board Label");
+        labelRepository.save(testLabel);
+
+        thirdTask = saveTask("Third", null, Set.of());
+        secondTask = saveTask("Second", 2, Set.of());
+        firstTask = saveTask("First", 1, Set.of(testLabel));
+    }
+
+    @AfterEach
+    void clean() {
+        taskRepository.deleteAll();
+        statusRepository.deleteAll();
+        labelRepository.deleteAll();
+    }
+
+    @Test
+    void testBoard() throws Exception {
+        var body = mockMvc.perform(get("/api/board").param("limit", "2").with(jwt()))
+                          .andExpect(status().isOk())
+                          .andReturn()
+                          .getResponse()
+                          .getContentAsString();
+        List<BoardColumnDTO> columns = om.readValue(body, new TypeReference<>() { });
+
+        var column = findColumn(columns, testStatus.getSlug());
+        assertThat(column.getTotal()).isEqualTo(3);
+        assertThat(column.getTasks()).extracting(TaskDTO::getId)
+                                     .containsExactly(firstTask.getId(), secondTask.getId());
+        assertThat(column.getTasks().getFirst().getTaskLabelIds()).containsExactly(testLabel.getId());
+        assertThat(column.getNextCursor()).isNotNull();
+
+        var empty = findColumn(columns, emptyStatus.getSlug());
+        assertThat(empty.getTotal()).isZero();
+        assertThat(empty.getTasks()).isEmpty();
+        assertThat(empty.getNextCursor()).isNull();
+    }
+
+    @Test
+    void testColumnContinuation() throws Exception {
+        var body = mockMvc.perform(get("/api/board").param("limit", "2").with(jwt()))
+                          .andReturn()
+                          .getResponse()
+                          .getContentAsString();
+        List<BoardColumnDTO> columns = om.readValue(body, new TypeReference<>() { });
+        var cursor = findColumn(columns, testStatus.getSlug()).getNextCursor();
+
+        var nextBody = mockMvc.perform(get("/api/board/columns/" + testStatus.getId())
+                                           .param("after", cursor)
+                                           .param("limit", "2")
+                                           .with(jwt()))
+                              .andExpect(status().isOk())
+                              .andReturn()
+                              .getResponse()
+                              .getContentAsString();
+        var column = om.readValue(nextBody, BoardColumnDTO.class);
+
+        assertThat(column.getTotal()).isEqualTo(3);
+        assertThat(column.getTasks()).extracting(TaskDTO::getId).containsExactly(thirdTask.getId());
+        assertThat(column.getNextCursor()).isNull();
+    }
+
+    @Test
+    void testColumnWithMalformedCursor() throws Exception {
+        mockMvc.perform(get("/api/board/columns/" + testStatus.getId()).param("after", "not a cursor").with(jwt()))
+               .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/board/columns/" + testStatus.getId()).param("after", "YTp4OjE").with(jwt()))
+               .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testMove() throws Exception {
+        var data = new TaskMoveDTO();
+        data.setAfterId(firstTask.getId());
+        data.setBeforeId(secondTask.getId());
+        move(thirdTask, data);
+
+        assertThat(columnOrder(testStatus)).containsExactly(firstTask.getId(), thirdTask.getId(), secondTask.getId());
+        var moved = taskRepository.findById(thirdTask.getId()).orElseThrow();
+        assertThat(moved.getVersion()).isEqualTo(thirdTask.getVersion());
+
+        move(firstTask, new TaskMoveDTO());
+        assertThat(columnOrder(testStatus)).containsExactly(thirdTask.getId(), secondTask.getId(), firstTask.getId());
+
+        var toColumn = new TaskMoveDTO();
+        toColumn.setStatus(emptyStatus.getSlug());
+        move(secondTask, toColumn);
+        assertThat(columnOrder(testStatus)).containsExactly(thirdTask.getId(), firstTask.getId());
+        assertThat(columnOrder(emptyStatus)).containsExactly(secondTask.getId());
+    }
+
+    @Test
+    void testMoveWritesOnlyMovedTask() throws Exception {
+        setRank(firstTask, "a");
+        setRank(secondTask, "b");
+        setRank(thirdTask, "c");
+        var data = new TaskMoveDTO();
+        data.setAfterId(firstTask.getId());
+        data.setBeforeId(secondTask.getId());
+
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        var statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            move(thirdTask, data);
+            assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+        assertThat(columnOrder(testStatus)).containsExactly(firstTask.getId(), thirdTask.getId(), secondTask.getId());
+    }
+
+    @Test
+    void testCreatedTaskIsRanked() throws Exception {
+        setRank(firstTask, "a");
+        setRank(secondTask, "b");
+        setRank(thirdTask, "c");
+        var data = new TaskCreateDTO();
+        data.setTitle("Created");
+        data.setStatus(testStatus.getSlug());
+
+        var body = mockMvc.perform(post("/api/tasks")
+                                       .with(jwt())
+                                       .contentType(MediaType.APPLICATION_JSON)
+                                       .content(om.writeValueAsString(data)))
+                          .andExpect(status().isCreated())
+                          .andReturn()
+                          .getResponse()
+                          .getContentAsString();
+        var created = om.readValue(body, TaskDTO.class);
+
+        assertThat(taskRepository.findById(created.getId()).orElseThrow().getRank()).isGreaterThan("c");
+        assertThat(columnOrder(testStatus)).containsExactly(
+            firstTask.getId(), secondTask.getId(), thirdTask.getId(), created.getId());
+    }
+
+    @Test
+    void testMoveNextToForeignTask() throws Exception {
+        var other = new Task();
+        other.setName("Other column");
+        other.setStatus(emptyStatus);
+        taskRepository.save(other);
+
+        var data = new TaskMoveDTO();
+        data.setAfterId(other.getId());
+        mockMvc.perform(post("/api/tasks/" + firstTask.getId() + "/move")
+                            .with(jwt())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(om.writeValueAsString(data)))
+               .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testRebalance() throws Exception {
+        var prefix = "b" + "1".repeat(40);
+        setRank(firstTask, prefix + "1");
+        setRank(secondTask, prefix + "2");
+        setRank(thirdTask, prefix + "3");
+
+        taskRankService.rebalance();
+
+        assertThat(columnOrder(testStatus)).containsExactly(firstTask.getId(), secondTask.getId(), thirdTask.getId());
+        assertThat(taskRepository.findAll()).allMatch(task -> task.getRank().length() == 1);
+    }
+
+    private void move(Task task, TaskMoveDTO data) throws Exception {
+        mockMvc.perform(post("/api/tasks/" + task.getId() + "/move")
+                            .with(jwt())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(om.writeValueAsString(data)))
+               .andExpect(status().isOk());
+    }
+
+    private List<Long> columnOrder(Status column) throws Exception {
+        var body = mockMvc.perform(get("/api/board/columns/" + column.getId()).with(jwt()))
+                          .andExpect(status().isOk())
+                          .andReturn()
+                          .getResponse()
+                          .getContentAsString();
+        return om.readValue(body, BoardColumnDTO.class).getTasks().stream()
+                 .map(TaskDTO::getId)
+                 .toList();
+    }
+
+    private void setRank(Task task, String rank) {
+        var saved = taskRepository.findById(task.getId()).orElseThrow();
+        saved.setRank(rank);
+        taskRepository.save(saved);
+    }
+
+    private Task saveTask(String name, Integer index, Set<Label> labels) {
+        var task = new Task();
+        task.setName(name);
+        task.setIndex(index);
+        task.setStatus(testStatus);
+        task.setLabels(labels);
+        return taskRepository.save(task);
+    }
+
+    private static BoardColumnDTO findColumn(List<BoardColumnDTO> columns, String slug) {
+        return columns.stream()
+                      .filter(column -> column.getSlug().equals(slug))
+                      .findFirst()
+                      .orElseThrow();
+    }
+}
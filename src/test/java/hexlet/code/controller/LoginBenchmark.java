@@ -0,0 +1,135 @@
+package hexlet.code.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.AuthDTO;
+import hexlet.code.model.User;
+import hexlet.code.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// Run with ./gradlew benchmark. Every login uses a distinct user, so none of them is answered by the credentials cache.
+// The second round sends more concurrent logins than the pool and its queue hold, so part of them are shed.
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+class LoginBenchmark {
+    private static final int USERS = 400;
+    private static final int CLIENTS = 32;
+    private static final int SATURATING_CLIENTS = 512;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @AfterEach
+    void clean() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void loginThroughput() throws Exception {
+        var hash = passwordEncoder.encode("password");
+        userRepository.saveAll(IntStream.range(0, USERS * 2).mapToObj(i -> user(i, hash)).toList());
+
+        round(0, CLIENTS);
+        round(USERS, SATURATING_CLIENTS);
+    }
+
+    private void round(int firstUser, int clientCount) throws Exception {
+        var ok = new AtomicInteger();
+        var shed = new AtomicInteger();
+        var latencies = new ConcurrentLinkedQueue<Long>();
+        var logins = new ArrayList<Callable<Void>>();
+        for (var i = firstUser; i < firstUser + USERS; i++) {
+            var body = om.writeValueAsString(credentials(i));
+            logins.add(() -> {
+                var loginStarted = System.nanoTime();
+                var status = login(body);
+                if (status == 200) {
+                    ok.incrementAndGet();
+                    latencies.add(System.nanoTime() - loginStarted);
+                } else {
+                    shed.incrementAndGet();
+                }
+                return null;
+            });
+        }
+
+        var started = System.nanoTime();
+        try (var clients = Executors.newFixedThreadPool(clientCount)) {
+            for (var future : clients.invokeAll(logins)) {
+                future.get();
+            }
+        }
+        var seconds = (System.nanoTime() - started) / 1e9;
+
+        var sorted = latencies.stream().sorted().toList();
+        System.out.printf("%d logins from %d clients in %.2f s: %.0f logins/s, %d shed with 503 (%.0f%%), "
+                + "p50 %d ms, p99 %d ms%n",
+            USERS, clientCount, seconds, ok.get() / seconds, shed.get(), 100.0 * shed.get() / USERS,
+            percentile(sorted, 0.5), percentile(sorted, 0.99));
+        assertThat(ok.get() + shed.get()).isEqualTo(USERS);
+    }
+
+    private static long percentile(List<Long> sorted, double quantile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        return sorted.get((int) Math.ceil(quantile * sorted.size()) - 1) / 1_000_000;
+    }
+
+    private int login(String body) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/login")
+                                               .contentType(MediaType.APPLICATION_JSON)
+                                               .content(body))
+                                  .andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        return result.getResponse().getStatus();
+    }
+
+    private static User user(int i, String hash) {
+        var user = new User();
+        user.setEmail("bench" + i + "@example.com");
+        user.setPassword(hash);
+        user.setFirstName("Bench");
+        user.setLastName("User" + i);
+        return user;
+    }
+
+    private static AuthDTO credentials(int i) {
+        var dto = new AuthDTO();
+        dto.setUsername("bench" + i + "@example.com");
+        dto.setPassword("password");
+        return dto;
+    }
+}
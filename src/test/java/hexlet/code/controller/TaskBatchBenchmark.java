@@ -0,0 +1,137 @@
+package hexlet.code.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.task.TaskCreateDTO;
+import hexlet.code.model.Label;
+import hexlet.code.model.Status;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.StatusRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.JwtRequestPostProcessor;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Run with ./gradlew benchmark. Creates the same tasks through POST /api/tasks one by one and through
+// POST /api/tasks/batch in chunks of tasks.batch.max-size.
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskBatchBenchmark {
+    private static final int TASKS = 5_000;
+    private static final int CHUNK = 1_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private JwtRequestPostProcessor token;
+    private List<TaskCreateDTO> tasks;
+
+    @BeforeEach
+    void setUp() {
+        var user = new User();
+        user.setEmail("batch@example.com");
+        user.setPassword("password");
+        userRepository.save(user);
+        token = jwt().jwt(builder -> builder.subject(user.getEmail()));
+
+        var status = new Status();
+        status.setName("Batch");
+        status.setSlug("batch");
+        statusRepository.save(status);
+
+        var labels = IntStream.range(0, 2).mapToObj(i -> {
+            var label = new Label();
+            label.setName("Batch label " + i);
+            return labelRepository.save(label);
+        }).toList();
+
+        tasks = IntStream.range(0, TASKS).mapToObj(i -> {
+            var dto = new TaskCreateDTO();
+            dto.setTitle("Imported task " + i);
+            dto.setContent("Imported from the old tracker");
+            dto.setStatus(status.getSlug());
+            dto.setAssigneeId(user.getId());
+            dto.setTaskLabelIds(Set.of(labels.get(i % labels.size()).getId()));
+            return dto;
+        }).toList();
+    }
+
+    @AfterEach
+    void clean() {
+        jdbcTemplate.update("delete from task_label");
+        jdbcTemplate.update("delete from tasks");
+        labelRepository.deleteAll();
+        statusRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void singleVersusBatch() throws Exception {
+        var started = System.nanoTime();
+        for (var task : tasks) {
+            mockMvc.perform(post("/api/tasks")
+                                .with(token)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(om.writeValueAsString(task)))
+                   .andExpect(status().isCreated());
+        }
+        report("POST /api/tasks", started);
+        assertThat(taskRepository.count()).isEqualTo(TASKS);
+
+        jdbcTemplate.update("delete from task_label");
+        jdbcTemplate.update("delete from tasks");
+
+        started = System.nanoTime();
+        for (var from = 0; from < TASKS; from += CHUNK) {
+            mockMvc.perform(post("/api/tasks/batch")
+                                .with(token)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(om.writeValueAsString(tasks.subList(from, from + CHUNK))))
+                   .andExpect(status().isOk());
+        }
+        report("POST /api/tasks/batch", started);
+        assertThat(taskRepository.count()).isEqualTo(TASKS);
+    }
+
+    private static void report(String endpoint, long started) {
+        var seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("%s: %d tasks in %.2f s, %.0f tasks/s%n", endpoint, TASKS, seconds, TASKS / seconds);
+    }
+}
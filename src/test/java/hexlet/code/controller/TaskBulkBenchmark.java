@@ -0,0 +1,133 @@
+package hexlet.code.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.task.TaskBulkResultDTO;
+import hexlet.code.dto.task.TaskBulkUpdateDTO;
+import hexlet.code.dto.task.TaskFilter;
+import hexlet.code.model.Label;
+import hexlet.code.model.Status;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.StatusRepository;
+import hexlet.code.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openapitools.jackson.nullable.JsonNullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Run with ./gradlew benchmark. Moves, reassigns and relabels 10,000 tasks with single PATCH /api/tasks/bulk calls.
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskBulkBenchmark {
+    private static final int TASKS = 10_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void clean() {
+        jdbcTemplate.update("delete from task_label");
+        jdbcTemplate.update("delete from tasks");
+        labelRepository.deleteAll();
+        userRepository.deleteAll();
+        statusRepository.deleteAll();
+    }
+
+    @Test
+    void bulkUpdate() throws Exception {
+        var sprint = statusRepository.save(taskStatus("sprint"));
+        var publish = statusRepository.save(taskStatus("to_publish"));
+        var leaving = userRepository.save(user("leaving"));
+        var staying = userRepository.save(user("staying"));
+        var label = new Label();
+        label.setName("Released");
+        labelRepository.save(label);
+
+        var rows = new ArrayList<Object[]>(TASKS);
+        for (var id = 1L; id <= TASKS; id++) {
+            rows.add(new Object[] {id, "Task " + id, sprint.getId(), leaving.getId()});
+        }
+        jdbcTemplate.batchUpdate("insert into tasks (id, name, status_id, assignee_id, created_at, updated_at) "
+            + "values (?, ?, ?, ?, current_date, current_timestamp)", rows);
+
+        var move = new TaskBulkUpdateDTO();
+        var filter = new TaskFilter();
+        filter.setStatus(sprint.getSlug());
+        move.setFilter(filter);
+        move.setStatus(publish.getSlug());
+        run("move by filter", move);
+
+        var reassign = new TaskBulkUpdateDTO();
+        reassign.setIds(LongStream.rangeClosed(1, TASKS).boxed().collect(Collectors.toSet()));
+        reassign.setAssigneeId(JsonNullable.of(staying.getId()));
+        run("reassign by ids", reassign);
+
+        var relabel = new TaskBulkUpdateDTO();
+        relabel.setFilter(new TaskFilter());
+        relabel.setAddLabelIds(Set.of(label.getId()));
+        run("add label to all", relabel);
+    }
+
+    private void run(String operation, TaskBulkUpdateDTO data) throws Exception {
+        var started = System.nanoTime();
+        var body = mockMvc.perform(patch("/api/tasks/bulk")
+                                       .with(jwt())
+                                       .contentType(MediaType.APPLICATION_JSON)
+                                       .content(om.writeValueAsString(data)))
+                          .andExpect(status().isOk())
+                          .andReturn()
+                          .getResponse()
+                          .getContentAsString();
+        var millis = (System.nanoTime() - started) / 1_000_000;
+
+        var affected = om.readValue(body, TaskBulkResultDTO.class).getAffected();
+        System.out.printf("PATCH /api/tasks/bulk, %s: %d tasks in %d ms%n", operation, affected, millis);
+        assertThat(affected).isEqualTo(TASKS);
+    }
+
+    private static Status taskStatus(String slug) {
+        var status = new Status();
+        status.setName(slug);
+        status.setSlug(slug);
+        return status;
+    }
+
+    private static User user(String name) {
+        var user = new User();
+        user.setEmail(name + "@example.com");
+        user.setPassword("password");
+        return user;
+    }
+}
@@ -2,9 +2,15 @@ package hexlet.code.controller;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.cache.LabelCache;
+import hexlet.code.dto.task.TaskBatchResult;
+import hexlet.code.dto.task.TaskBulkResultDTO;
+import hexlet.code.dto.task.TaskBulkUpdateDTO;
 import hexlet.code.dto.task.TaskCreateDTO;
 import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskStatsDTO;
 import hexlet.code.dto.task.TaskUpdateDTO;
+import hexlet.code.exception.TaskConflictException;
 import hexlet.code.mapper.TaskMapper;
 import hexlet.code.model.Status;
 import hexlet.code.model.Task;
@@ -14,6 +20,10 @@ import hexlet.code.repository.StatusRepository;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.UserRepository;
 import hexlet.code.repository.LabelRepository;
+import hexlet.code.service.TaskCounterService;
+import hexlet.code.service.TaskService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,24 +32,41 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.JwtRequestPostProcessor;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -70,6 +97,24 @@ class TaskControllerTest {
     @Autowired
     private TaskMapper taskMapper;
 
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private LabelCache labelCache;
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
     private JwtRequestPostProcessor token;
     private Task testTask;
     private Task testTask2;
@@ -229,6 +274,218 @@ class TaskControllerTest {
         assertThat(actual.getFirst().getAssigneeId()).isEqualTo(testUser2.getId());
     }
 
+    @Test
+    void testIndexPagination() throws Exception {
+        var response = mockMvc.perform(get("/api/tasks")
+                                           .param("limit", "1")
+                                           .with(jwt()))
+                              .andExpect(status().isOk())
+                              .andReturn()
+                              .getResponse();
+        List<TaskDTO> actual = objectMapper.readValue(response.getContentAsString(), new TypeReference<>() { });
+
+        assertThat(actual).hasSize(1);
+        assertThat(actual.getFirst().getId()).isEqualTo(testTask.getId());
+        assertThat(response.getHeader("X-Total-Count")).isEqualTo("2");
+
+        var cursor = response.getHeader("X-Next-Cursor");
+        assertNotNull(cursor);
+
+        response = mockMvc.perform(get("/api/tasks")
+                                       .param("after", cursor)
+                                       .param("limit", "1")
+                                       .with(jwt()))
+                          .andExpect(status().isOk())
+                          .andReturn()
+                          .getResponse();
+        actual = objectMapper.readValue(response.getContentAsString(), new TypeReference<>() { });
+
+        assertThat(actual).hasSize(1);
+        assertThat(actual.getFirst().getId()).isEqualTo(testTask2.getId());
+        assertThat(response.getHeader("X-Next-Cursor")).isNull();
+
+        response = mockMvc.perform(get("/api/tasks")
+                                       .param("_start", "1")
+                                       .param("_end", "2")
+                                       .with(jwt()))
+                          .andExpect(status().isOk())
+                          .andReturn()
+                          .getResponse();
+        actual = objectMapper.readValue(response.getContentAsString(), new TypeReference<>() { });
+
+        assertThat(actual).hasSize(1);
+        assertThat(actual.getFirst().getId()).isEqualTo(testTask2.getId());
+        assertThat(response.getHeader("X-Total-Count")).isEqualTo("2");
+    }
+
+    @Test
+    void testIndexWithMalformedCursor() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("after", "not a cursor").with(jwt()))
+               .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks").param("after", "bm90LWEtZGF0ZToxMg").with(jwt()))
+               .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testIndexByLabels() throws Exception {
+        var labelIds = testLabel1.getId() + "," + testLabel2.getId();
+
+        var response = mockMvc.perform(get("/api/tasks")
+                                           .param("labelIds", labelIds)
+                                           .with(jwt()))
+                              .andExpect(status().isOk())
+                              .andReturn()
+                              .getResponse();
+        List<TaskDTO> actual = objectMapper.readValue(response.getContentAsString(), new TypeReference<>() { });
+        assertThat(actual).extracting(TaskDTO::getId)
+                          .containsExactly(testTask.getId(), testTask2.getId());
+
+        response = mockMvc.perform(get("/api/tasks")
+                                       .param("labelIds", labelIds)
+                                       .param("labelMode", "all")
+                                       .with(jwt()))
+                          .andExpect(status().isOk())
+                          .andReturn()
+                          .getResponse();
+        actual = objectMapper.readValue(response.getContentAsString(), new TypeReference<>() { });
+        assertThat(actual).isEmpty();
+    }
+
+    @Test
+    void testIndexStream() throws Exception {
+        var result = mockMvc.perform(get("/api/tasks")
+                                         .accept(MediaType.APPLICATION_NDJSON)
+                                         .param("status", testStatus.getSlug())
+                                         .with(jwt()))
+                            .andExpect(request().asyncStarted())
+                            .andReturn();
+        var body = mockMvc.perform(asyncDispatch(result))
+                          .andExpect(status().isOk())
+                          .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                          .andReturn()
+                          .getResponse()
+                          .getContentAsString();
+
+        var lines = body.lines().toList();
+        assertThat(lines).hasSize(1);
+
+        var actual = objectMapper.readValue(lines.getFirst(), TaskDTO.class);
+        assertThat(actual.getId()).isEqualTo(testTask.getId());
+        assertThat(actual.getTaskLabelIds()).containsExactly(testLabel1.getId());
+    }
+
+    @Test
+    void testExportCsv() throws Exception {
+        var result = mockMvc.perform(get("/api/tasks/export")
+                                         .param("format", "csv")
+                                         .param("status", testStatus.getSlug())
+                                         .with(jwt()))
+                            .andExpect(request().asyncStarted())
+                            .andReturn();
+        var body = mockMvc.perform(asyncDispatch(result))
+                          .andExpect(status().isOk())
+                          .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                          .andReturn()
+                          .getResponse()
+                          .getContentAsString();
+
+        var lines = body.lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(lines.getFirst()).isEqualTo("id,title,content,status,index,assigneeId,createdAt,taskLabelIds");
+        assertThat(lines.get(1)).isEqualTo(String.join(",",
+            testTask.getId().toString(),
+            testTask.getName(),
+            testTask.getDescription(),
+            testStatus.getSlug(),
+            "",
+            testUser.getId().toString(),
+            testTask.getCreatedAt().toString(),
+            testLabel1.getId().toString()));
+    }
+
+    @Test
+    void testExportNdjsonGzip() throws Exception {
+        var result = mockMvc.perform(get("/api/tasks/export")
+                                         .header("Accept-Encoding", "gzip")
+                                         .param("assigneeId", testUser2.getId().toString())
+                                         .with(jwt()))
+                            .andExpect(request().asyncStarted())
+                            .andReturn();
+        var compressed = mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("Content-Encoding", "gzip"))
+                                .andReturn()
+                                .getResponse()
+                                .getContentAsByteArray();
+
+        String body;
+        try (var input = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            body = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        var lines = body.lines().toList();
+        assertThat(lines).hasSize(1);
+
+        var actual = objectMapper.readValue(lines.getFirst(), TaskDTO.class);
+        assertThat(actual.getId()).isEqualTo(testTask2.getId());
+        assertThat(actual.getStatus()).isEqualTo(testStatus2.getSlug());
+        assertThat(actual.getTaskLabelIds()).containsExactly(testLabel2.getId());
+    }
+
+    @Test
+    void testStats() throws Exception {
+        var before = getStats();
+
+        var request = new TaskCreateDTO();
+        request.setTitle("Counted Task");
+        request.setStatus(testStatus2.getSlug());
+        request.setTaskLabelIds(Set.of(testLabel2.getId()));
+
+        mockMvc.perform(post("/api/tasks")
+                            .with(token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+               .andExpect(status().isCreated());
+
+        var after = getStats();
+        assertThat(after.getTotal()).isEqualTo(before.getTotal() + 1);
+        assertThat(after.getUnassigned()).isEqualTo(before.getUnassigned() + 1);
+        assertThat(after.getByStatus().get(testStatus2.getSlug()))
+            .isEqualTo(before.getByStatus().getOrDefault(testStatus2.getSlug(), 0L) + 1);
+        assertThat(after.getByLabel().get(testLabel2.getId()))
+            .isEqualTo(before.getByLabel().getOrDefault(testLabel2.getId(), 0L) + 1);
+    }
+
+    @Test
+    void testReconcileStats() throws Exception {
+        jdbcTemplate.update("update task_counters set task_count = 100 where dimension = 'STATUS' and ref_id = ?",
+            testStatus.getId());
+        jdbcTemplate.update("delete from task_counters where dimension = 'LABEL' and ref_id = ?", testLabel1.getId());
+
+        taskCounterService.reconcile();
+
+        var stats = getStats();
+        assertThat(stats.getByStatus().get(testStatus.getSlug())).isEqualTo(1L);
+        assertThat(stats.getByLabel().get(testLabel1.getId())).isEqualTo(1L);
+    }
+
+    @Test
+    void testReconcileSkippedWhileAnotherInstanceHoldsTheLock() throws Exception {
+        taskCounterService.reconcile();
+        jdbcTemplate.update("update task_counters set task_count = 100 where dimension = 'STATUS' and ref_id = ?",
+            testStatus.getId());
+        jdbcTemplate.update("delete from job_locks");
+        jdbcTemplate.update("insert into job_locks (name, locked_until, locked_by) "
+            + "values ('task-counters-reconcile', ?, 'other')", Timestamp.from(Instant.now().plusSeconds(600)));
+        try {
+            taskCounterService.reconcile();
+
+            assertThat(getStats().getByStatus().get(testStatus.getSlug())).isEqualTo(100L);
+        } finally {
+            jdbcTemplate.update("delete from job_locks");
+            taskCounterService.reconcile();
+        }
+    }
+
     @Test
     @Transactional
     void testCreate() throws Exception {
@@ -261,6 +518,209 @@ class TaskControllerTest {
         assertThat(createdTask.getLabels()).contains(testLabel1, testLabel2);
     }
 
+    @Test
+    void testCreateBatch() throws Exception {
+        var valid = new TaskCreateDTO();
+        valid.setTitle("Batch Task");
+        valid.setStatus(testStatus.getSlug());
+        valid.setAssigneeId(testUser2.getId());
+        valid.setTaskLabelIds(Set.of(testLabel1.getId(), testLabel2.getId()));
+
+        var unknownStatus = new TaskCreateDTO();
+        unknownStatus.setTitle("Unknown Status");
+        unknownStatus.setStatus("missing");
+
+        var blankTitle = new TaskCreateDTO();
+        blankTitle.setTitle(" ");
+        blankTitle.setStatus(testStatus.getSlug());
+
+        var body = mockMvc.perform(post("/api/tasks/batch")
+                                       .with(token)
+                                       .contentType(MediaType.APPLICATION_JSON)
+                                       .content(objectMapper.writeValueAsString(
+                                           List.of(valid, unknownStatus, blankTitle))))
+                          .andExpect(status().isOk())
+                          .andReturn()
+                          .getResponse()
+                          .getContentAsString();
+        List<TaskBatchResult> results = objectMapper.readValue(body, new TypeReference<>() { });
+
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).getError()).isNull();
+        assertThat(results.get(1).getError()).contains("missing");
+        assertThat(results.get(2).getError()).contains("title");
+
+        var created = taskRepository.findById(results.get(0).getTask().getId()).orElseThrow();
+        assertThat(created.getName()).isEqualTo("Batch Task");
+        assertThat(created.getAssignee().getId()).isEqualTo(testUser2.getId());
+        assertThat(created.getLabels()).containsExactlyInAnyOrder(testLabel1, testLabel2);
+        assertThat(taskRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void testUpdateBulk() throws Exception {
+        var data = new TaskBulkUpdateDTO();
+        data.setIds(Set.of(testTask.getId(), testTask2.getId()));
+        data.setStatus(testStatus2.getSlug());
+        data.setAssigneeId(JsonNullable.of(testUser2.getId()));
+        data.setAddLabelIds(Set.of(testLabel1.getId()));
+        data.setRemoveLabelIds(Set.of(testLabel2.getId()));
+
+        var body = mockMvc.perform(patch("/api/tasks/bulk")
+                                       .with(token)
+                                       .contentType(MediaType.APPLICATION_JSON)
+                                       .content(objectMapper.writeValueAsString(data)))
+                          .andExpect(status().isOk())
+                          .andReturn()
+                          .getResponse()
+                          .getContentAsString();
+        assertThat(objectMapper.readValue(body, TaskBulkResultDTO.class).getAffected()).isEqualTo(2);
+
+        for (var id : List.of(testTask.getId(), testTask2.getId())) {
+            var task = taskRepository.findById(id).orElseThrow();
+            assertThat(task.getStatus().getId()).isEqualTo(testStatus2.getId());
+            assertThat(task.getAssignee().getId()).isEqualTo(testUser2.getId());
+            assertThat(task.getLabels()).containsExactly(testLabel1);
+            assertThat(task.getVersion()).isPositive();
+        }
+    }
+
+    @Test
+    void testCreateStatementCount() throws Exception {
+        var request = new TaskCreateDTO();
+        request.setTitle("Counted Statements");
+        request.setStatus(testStatus.getSlug());
+        request.setAssigneeId(testUser.getId());
+        request.setTaskLabelIds(Set.of(testLabel1.getId()));
+        var body = objectMapper.writeValueAsString(request);
+
+        // the first request warms up the status cache and creates the counter rows
+        mockMvc.perform(post("/api/tasks").with(token).contentType(MediaType.APPLICATION_JSON).content(body))
+               .andExpect(status().isCreated());
+
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        var statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            mockMvc.perform(post("/api/tasks").with(token).contentType(MediaType.APPLICATION_JSON).content(body))
+                   .andExpect(status().isCreated());
+
+            // assignee exists check, column's last rank, task insert, task_label insert, status/assignee/label counters
+            assertThat(statistics.getEntityLoadCount()).isZero();
+            assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(7);
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
+    @Test
+    void testReadStatementCount() throws Exception {
+        // warms up the status cache and anything else loaded on first use
+        mockMvc.perform(get("/api/tasks").with(jwt())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/tasks/" + testTask.getId()).with(jwt())).andExpect(status().isOk());
+
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        var statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            mockMvc.perform(get("/api/tasks").with(jwt())).andExpect(status().isOk());
+            var twoTasks = statistics.getPrepareStatementCount();
+
+            for (var i = 0; i < 10; i++) {
+                var task = new Task();
+                task.setName("Counted task " + i);
+                task.setStatus(i % 2 == 0 ? testStatus : testStatus2);
+                task.setAssignee(i % 2 == 0 ? testUser : testUser2);
+                task.setLabels(Set.of(testLabel1, testLabel2));
+                taskRepository.save(task);
+            }
+            statistics.clear();
+            mockMvc.perform(get("/api/tasks").with(jwt())).andExpect(status().isOk());
+
+            // ETag aggregate, page with status and assignee joined, total count, one batch of task_label rows
+            assertThat(twoTasks).isLessThanOrEqualTo(4);
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(twoTasks);
+
+            statistics.clear();
+            mockMvc.perform(get("/api/tasks/" + testTask.getId()).with(jwt())).andExpect(status().isOk());
+
+            // task with status and assignee joined, then its labels
+            assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
+    @Test
+    void testCreateWithLabelMissingFromCache() throws Exception {
+        jdbcTemplate.update("insert into labels (name, created_at) values ('Imported', current_date)");
+        var labelId = jdbcTemplate.queryForObject("select id from labels where name = 'Imported'", Long.class);
+
+        var request = new TaskCreateDTO();
+        request.setTitle("Imported Label Task");
+        request.setStatus(testStatus.getSlug());
+        request.setTaskLabelIds(Set.of(labelId));
+
+        mockMvc.perform(post("/api/tasks")
+                            .with(token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+               .andExpect(status().isCreated());
+    }
+
+    @Test
+    void testIndexFindsTaskMissingFromSearchIndex() throws Exception {
+        jdbcTemplate.update("insert into tasks (id, name, status_id, created_at, updated_at) "
+            + "values (next value for tasks_seq, 'Written elsewhere', ?, current_date, current_timestamp)",
+            testStatus.getId());
+
+        var body = mockMvc.perform(get("/api/tasks").param("titleCont", "elsewhere").with(jwt()))
+                          .andExpect(status().isOk())
+                          .andReturn()
+                          .getResponse()
+                          .getContentAsString();
+        List<TaskDTO> actual = objectMapper.readValue(body, new TypeReference<>() { });
+
+        assertThat(actual).extracting(TaskDTO::getTitle).containsExactly("Written elsewhere");
+    }
+
+    @Test
+    void testRolledBackLabelIsUnknown() {
+        var label = transactionTemplate.execute(tx -> {
+            var rolledBack = new Label();
+            rolledBack.setName("Rolled back");
+            labelRepository.saveAndFlush(rolledBack);
+            tx.setRollbackOnly();
+            return rolledBack;
+        });
+
+        assertThat(labelCache.findUnknown(Set.of(label.getId()))).containsExactly(label.getId());
+    }
+
+    @Test
+    void testCreateWithRenamedStatus() throws Exception {
+        testStatus.setSlug("renamed");
+        taskStatusRepository.save(testStatus);
+
+        var request = new TaskCreateDTO();
+        request.setTitle("Renamed Status Task");
+        request.setStatus("renamed");
+
+        mockMvc.perform(post("/api/tasks")
+                            .with(token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+               .andExpect(status().isCreated());
+
+        var created = taskRepository.findAll().stream()
+                                    .filter(t -> t.getName().equals("Renamed Status Task"))
+                                    .findFirst()
+                                    .orElseThrow();
+        assertThat(created.getStatus().getId()).isEqualTo(testStatus.getId());
+    }
+
     @Test
     @Transactional
     void testUpdate() throws Exception {
@@ -298,6 +758,161 @@ class TaskControllerTest {
         assertThat(responseDto.getTaskLabelIds()).contains(testLabel1.getId());
     }
 
+    @Test
+    void testShowNotModified() throws Exception {
+        var etag = mockMvc.perform(get("/api/tasks/" + testTask.getId()).with(jwt()))
+                          .andExpect(status().isOk())
+                          .andExpect(header().exists("ETag"))
+                          .andReturn()
+                          .getResponse()
+                          .getHeader("ETag");
+
+        var body = mockMvc.perform(get("/api/tasks/" + testTask.getId())
+                                       .header("If-None-Match", etag)
+                                       .with(jwt()))
+                          .andExpect(status().isNotModified())
+                          .andExpect(header().string("ETag", etag))
+                          .andReturn()
+                          .getResponse()
+                          .getContentAsString();
+        assertThat(body).isEmpty();
+    }
+
+    @Test
+    void testIndexNotModified() throws Exception {
+        var etag = mockMvc.perform(get("/api/tasks").with(jwt()))
+                          .andExpect(status().isOk())
+                          .andReturn()
+                          .getResponse()
+                          .getHeader("ETag");
+
+        // the tag comes from one aggregate query, a conditional request loads nothing else
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        var statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            mockMvc.perform(get("/api/tasks").header("If-None-Match", etag).with(jwt()))
+                   .andExpect(status().isNotModified());
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+
+        var data = new TaskUpdateDTO();
+        data.setTitle(JsonNullable.of("Changed Title"));
+        mockMvc.perform(put("/api/tasks/" + testTask.getId())
+                            .with(token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(data)))
+               .andExpect(status().isOk());
+
+        var changedEtag = mockMvc.perform(get("/api/tasks").header("If-None-Match", etag).with(jwt()))
+                                 .andExpect(status().isOk())
+                                 .andReturn()
+                                 .getResponse()
+                                 .getHeader("ETag");
+
+        mockMvc.perform(delete("/api/tasks/" + testTask2.getId()).with(token))
+               .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/tasks").header("If-None-Match", changedEtag).with(jwt()))
+               .andExpect(status().isOk());
+    }
+
+    @Test
+    void testUpdateIfMatch() throws Exception {
+        var etag = mockMvc.perform(get("/api/tasks/" + testTask.getId()).with(jwt()))
+                          .andReturn()
+                          .getResponse()
+                          .getHeader("ETag");
+
+        var data = new TaskUpdateDTO();
+        data.setTitle(JsonNullable.of("Matched Title"));
+        var newEtag = mockMvc.perform(put("/api/tasks/" + testTask.getId())
+                                          .header("If-Match", etag)
+                                          .with(token)
+                                          .contentType(MediaType.APPLICATION_JSON)
+                                          .content(objectMapper.writeValueAsString(data)))
+                             .andExpect(status().isOk())
+                             .andReturn()
+                             .getResponse()
+                             .getHeader("ETag");
+        assertThat(newEtag).isNotEqualTo(etag);
+
+        data.setTitle(JsonNullable.of("Stale Title"));
+        mockMvc.perform(put("/api/tasks/" + testTask.getId())
+                            .header("If-Match", etag)
+                            .with(token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(data)))
+               .andExpect(status().isPreconditionFailed());
+
+        var task = taskRepository.findById(testTask.getId()).orElseThrow();
+        assertThat(task.getName()).isEqualTo("Matched Title");
+    }
+
+    @Test
+    void testAddLabels() throws Exception {
+        var body = mockMvc.perform(post("/api/tasks/" + testTask.getId() + "/labels")
+                                       .with(token)
+                                       .contentType(MediaType.APPLICATION_JSON)
+                                       .content(objectMapper.writeValueAsString(Set.of(testLabel2.getId()))))
+                          .andExpect(status().isOk())
+                          .andExpect(header().exists("ETag"))
+                          .andReturn()
+                          .getResponse()
+                          .getContentAsString();
+
+        var actual = objectMapper.readValue(body, TaskDTO.class);
+        assertThat(actual.getTaskLabelIds()).containsExactlyInAnyOrder(testLabel1.getId(), testLabel2.getId());
+    }
+
+    @Test
+    void testConcurrentLabelAdditions() throws Exception {
+        var writers = 8;
+        List<Label> labels = new ArrayList<>();
+        for (var i = 0; i < writers; i++) {
+            var label = new Label();
+            label.setName("Concurrent " + i);
+            labels.add(labelRepository.save(label));
+        }
+        var initialVersion = taskRepository.findById(testTask.getId()).orElseThrow().getVersion();
+
+        Set<Long> added = ConcurrentHashMap.newKeySet();
+        Set<Long> conflicted = ConcurrentHashMap.newKeySet();
+        var start = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(writers);
+        try {
+            for (var label : labels) {
+                executor.submit(() -> {
+                    start.await();
+                    try {
+                        taskService.addLabels(testTask.getId(), Set.of(label.getId()));
+                        added.add(label.getId());
+                    } catch (TaskConflictException e) {
+                        conflicted.add(label.getId());
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // every acknowledged write is present, and only those: a lost update would drop a label someone was told is set
+        assertThat(added).isNotEmpty();
+        assertThat(added.size() + conflicted.size()).isEqualTo(writers);
+        var task = taskRepository.findById(testTask.getId()).orElseThrow();
+        Set<Long> expected = new HashSet<>(added);
+        expected.add(testLabel1.getId());
+        assertThat(task.getLabels()).extracting(Label::getId).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(task.getVersion()).isEqualTo(initialVersion + added.size());
+    }
+
     @Test
     void testDelete() throws Exception {
         var request = delete("/api/tasks/" + testTask.getId())
@@ -307,4 +922,13 @@ class TaskControllerTest {
 
         assertThat(taskRepository.existsById(testTask.getId())).isFalse();
     }
+
+    private TaskStatsDTO getStats() throws Exception {
+        var body = mockMvc.perform(get("/api/tasks/stats").with(jwt()))
+                          .andExpect(status().isOk())
+                          .andReturn()
+                          .getResponse()
+                          .getContentAsString();
+        return objectMapper.readValue(body, TaskStatsDTO.class);
+    }
 }
@@ -0,0 +1,184 @@
+package hexlet.code.controller;
+
+import hexlet.code.model.Label;
+import hexlet.code.model.Status;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.StatusRepository;
+import hexlet.code.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Run with ./gradlew benchmark. Times the filtered first page of /api/tasks with the V2 indexes and after dropping
+// them. H2 still indexes the foreign key columns on its own, so "without" is the schema before V2 on H2.
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskFilterBenchmark {
+    private static final int TASKS = 100_000;
+    private static final int CALLS = 100;
+    private static final String INDEXES = "db/migration/V2__add_task_indexes.sql";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void clean() {
+        for (var from = 0; from < TASKS; from += 10_000) {
+            jdbcTemplate.update("delete from task_label where task_id <= ?", from + 10_000L);
+            jdbcTemplate.update("delete from tasks where id <= ?", from + 10_000L);
+        }
+        labelRepository.deleteAll();
+        userRepository.deleteAll();
+        statusRepository.deleteAll();
+    }
+
+    @Test
+    void filters() throws Exception {
+        var statuses = statusRepository.saveAll(IntStream.range(0, 10).mapToObj(TaskFilterBenchmark::taskStatus)
+                                                         .toList());
+        var users = userRepository.saveAll(IntStream.range(0, 100).mapToObj(TaskFilterBenchmark::user).toList());
+        var labels = labelRepository.saveAll(IntStream.range(0, 30).mapToObj(TaskFilterBenchmark::label).toList());
+        var random = new Random(42);
+        insert(statuses, users, labels, random);
+
+        Map<String, Supplier<MockHttpServletRequestBuilder>> filters = new LinkedHashMap<>();
+        filters.put("status", () -> get("/api/tasks")
+            .param("status", statuses.get(random.nextInt(statuses.size())).getSlug()));
+        filters.put("assignee", () -> get("/api/tasks")
+            .param("assigneeId", users.get(random.nextInt(users.size())).getId().toString()));
+        filters.put("status and assignee", () -> get("/api/tasks")
+            .param("status", statuses.get(random.nextInt(statuses.size())).getSlug())
+            .param("assigneeId", users.get(random.nextInt(users.size())).getId().toString()));
+        filters.put("label", () -> get("/api/tasks")
+            .param("labelId", labels.get(random.nextInt(labels.size())).getId().toString()));
+
+        // the first variant would otherwise also pay for warming up the JIT
+        for (var i = 0; i < CALLS; i++) {
+            filters.values().forEach(request -> perform(request.get()));
+        }
+
+        var statements = indexStatements();
+        for (var filter : filters.entrySet()) {
+            measure("with indexes", filter.getKey(), filter.getValue());
+        }
+        statements.keySet().forEach(name -> jdbcTemplate.execute("drop index " + name));
+        try {
+            for (var filter : filters.entrySet()) {
+                measure("without indexes", filter.getKey(), filter.getValue());
+            }
+        } finally {
+            statements.values().forEach(jdbcTemplate::execute);
+        }
+    }
+
+    private void insert(List<Status> statuses, List<User> users, List<Label> labels, Random random) {
+        var tasks = new ArrayList<Object[]>(TASKS);
+        var taskLabels = new ArrayList<Object[]>(TASKS);
+        for (var id = 1L; id <= TASKS; id++) {
+            var assignee = random.nextInt(users.size() + 1);
+            tasks.add(new Object[] {
+                id,
+                "Task " + id,
+                statuses.get(random.nextInt(statuses.size())).getId(),
+                assignee == users.size() ? null : users.get(assignee).getId(),
+                random.nextInt(365)
+            });
+            taskLabels.add(new Object[] {id, labels.get(random.nextInt(labels.size())).getId()});
+        }
+        jdbcTemplate.batchUpdate("insert into tasks (id, name, status_id, assignee_id, created_at, updated_at) "
+            + "values (?, ?, ?, ?, dateadd('DAY', ?, date '2025-01-01'), current_timestamp)", tasks);
+        jdbcTemplate.batchUpdate("insert into task_label (task_id, label_id) values (?, ?)", taskLabels);
+    }
+
+    private void measure(String variant, String filter, Supplier<MockHttpServletRequestBuilder> request)
+        throws Exception {
+        for (var i = 0; i < 10; i++) {
+            perform(request.get());
+        }
+
+        var started = System.nanoTime();
+        for (var i = 0; i < CALLS; i++) {
+            perform(request.get());
+        }
+        System.out.printf("GET /api/tasks by %s over %d tasks, %s: %.2f ms per call%n", filter, TASKS, variant,
+            (System.nanoTime() - started) / 1e6 / CALLS);
+    }
+
+    private void perform(MockHttpServletRequestBuilder request) {
+        try {
+            mockMvc.perform(request.param("limit", "20").with(jwt()))
+                   .andExpect(status().isOk());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // index name to its create statement, as written in the migration
+    private static Map<String, String> indexStatements() throws IOException {
+        Map<String, String> statements = new LinkedHashMap<>();
+        var sql = new ClassPathResource(INDEXES).getContentAsString(StandardCharsets.UTF_8);
+        for (var statement : sql.split(";")) {
+            if (!statement.isBlank()) {
+                statements.put(statement.strip().split("\\s+")[2], statement.strip());
+            }
+        }
+        assertThat(statements).hasSize(5);
+        return statements;
+    }
+
+    private static Status taskStatus(int i) {
+        var status = new Status();
+        status.setName("Filter status " + i);
+        status.setSlug("filter-" + i);
+        return status;
+    }
+
+    private static User user(int i) {
+        var user = new User();
+        user.setEmail("filter" + i + "@example.com");
+        user.setPassword("password");
+        return user;
+    }
+
+    private static Label label(int i) {
+        var label = new Label();
+        label.setName("Filter label " + i);
+        return label;
+    }
+}
@@ -0,0 +1,190 @@
+package hexlet.code.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.task.TaskImportDTO;
+import hexlet.code.model.Label;
+import hexlet.code.model.Status;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.StatusRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskImportControllerTest {
+
+    @Autowired
+    private WebApplicationContext wac;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private ObjectMapper om;
+
+    private Status testStatus;
+    private User testUser;
+    private Label testLabel;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(wac)
+                                 .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+                                 .apply(springSecurity())
+                                 .build();
+
+        testStatus = statusRepository.save(new Status("Import Status", "import-status"));
+
+        testUser = new User();
+        testUser.setEmail("importer@example.com");
+        testUser.setPassword("password");
+        userRepository.save(testUser);
+
+        testLabel = new Label();
+        testLabel.setName("Imported");
+        labelRepository.save(testLabel);
+    }
+
+    @AfterEach
+    void clean() {
+        taskRepository.deleteAll();
+        statusRepository.deleteAll();
+        userRepository.deleteAll();
+        labelRepository.deleteAll();
+    }
+
+    @Test
+    void testImportCsv() throws Exception {
+        var csv = """
+            title,content,status,assignee,labels
+            First,"multi-line
+            content, with comma",import-status,importer@example.com,Imported
+            Second,,import-status,,
+            Broken,,missing-status,,
+            Unknown user,,import-status,nobody@example.com,
+            """;
+
+        var result = importTasks("text/csv", csv);
+
+        assertThat(result.getState()).isEqualTo("COMPLETED");
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getErrors()).hasSize(2);
+
+        var first = taskRepository.findAll().stream()
+                                  .filter(task -> task.getName().equals("First"))
+                                  .findFirst()
+                                  .orElseThrow();
+        assertThat(first.getDescription()).isEqualTo("multi-line\ncontent, with comma");
+        assertThat(first.getAssignee().getId()).isEqualTo(testUser.getId());
+        assertThat(taskRepository.findById(first.getId()).orElseThrow().getLabels()).containsExactly(testLabel);
+    }
+
+    @Test
+    void testImportCsvResumesAfterMalformedRecords() throws Exception {
+        var csv = "title,status\n"
+            + "Before,import-status\n"
+            + "\"Unclosed,import-status\n"
+            + "x".repeat(1 << 20) + ",import-status\n"
+            + "After,import-status\n";
+
+        var result = importTasks("text/csv", csv);
+
+        assertThat(result.getState()).isEqualTo("COMPLETED");
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getErrors()).satisfiesExactly(
+            error -> assertThat(error).startsWith("row 3:"),
+            error -> assertThat(error).startsWith("row 4:"));
+        assertThat(taskRepository.findAll()).extracting("name").containsExactlyInAnyOrder("Before", "After");
+    }
+
+    @Test
+    void testImportNdjson() throws Exception {
+        var ndjson = """
+            {"title": "One", "status": "import-status", "taskLabelIds": [%d]}
+            not json
+            {"title": "Two", "status": "import-status"}
+            """.formatted(testLabel.getId());
+
+        var result = importTasks("application/x-ndjson", ndjson);
+
+        assertThat(result.getState()).isEqualTo("COMPLETED");
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getErrors().getFirst()).startsWith("row 2:");
+        assertThat(taskRepository.count()).isEqualTo(2);
+
+        var body = mockMvc.perform(get("/api/tasks/imports/" + result.getId()).with(jwt()))
+                          .andExpect(status().isOk())
+                          .andReturn()
+                          .getResponse()
+                          .getContentAsString();
+        assertThat(om.readValue(body, TaskImportDTO.class).getProcessed()).isEqualTo(3);
+
+        var listBody = mockMvc.perform(get("/api/tasks/imports").with(jwt()))
+                              .andExpect(status().isOk())
+                              .andReturn()
+                              .getResponse()
+                              .getContentAsString();
+        List<TaskImportDTO> imports = om.readValue(listBody, new TypeReference<>() { });
+        assertThat(imports).extracting(TaskImportDTO::getId).contains(result.getId());
+    }
+
+    @Test
+    void testImportNdjsonSkipsOverlongLine() throws Exception {
+        var ndjson = "{\"title\": \"" + "x".repeat(1 << 20) + "\", \"status\": \"import-status\"}\n"
+            + "{\"title\": \"After\", \"status\": \"import-status\"}\n";
+
+        var result = importTasks("application/x-ndjson", ndjson);
+
+        assertThat(result.getState()).isEqualTo("COMPLETED");
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getErrors()).singleElement().asString().startsWith("row 1:");
+    }
+
+    private TaskImportDTO importTasks(String contentType, String content) throws Exception {
+        var body = mockMvc.perform(post("/api/tasks/imports")
+                                       .with(jwt())
+                                       .contentType(contentType)
+                                       .content(content.getBytes(StandardCharsets.UTF_8)))
+                          .andExpect(status().isOk())
+                          .andReturn()
+                          .getResponse()
+                          .getContentAsString();
+        return om.readValue(body, TaskImportDTO.class);
+    }
+}
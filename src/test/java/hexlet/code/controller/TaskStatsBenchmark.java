@@ -0,0 +1,169 @@
+package hexlet.code.controller;
+
+import hexlet.code.model.Label;
+import hexlet.code.model.Status;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.StatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.service.TaskCounterService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Run with ./gradlew benchmark. Compares the counters behind /api/tasks/stats, at two table sizes, with counting on
+// the client from every page of /api/tasks, which is what the board header did before.
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskStatsBenchmark {
+    private static final int SMALL = 2_000;
+    private static final int LARGE = 50_000;
+    private static final int CALLS = 200;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void clean() {
+        jdbcTemplate.update("delete from task_label");
+        for (var from = 0; from < LARGE; from += 10_000) {
+            jdbcTemplate.update("delete from tasks where id <= ?", from + 10_000L);
+        }
+        taskCounterService.reconcile();
+        labelRepository.deleteAll();
+        userRepository.deleteAll();
+        statusRepository.deleteAll();
+    }
+
+    @Test
+    void stats() throws Exception {
+        var statuses = statusRepository.saveAll(IntStream.range(0, 5).mapToObj(TaskStatsBenchmark::taskStatus).toList());
+        var users = userRepository.saveAll(IntStream.range(0, 20).mapToObj(TaskStatsBenchmark::user).toList());
+        var labels = labelRepository.saveAll(IntStream.range(0, 10).mapToObj(TaskStatsBenchmark::label).toList());
+        var random = new Random(42);
+
+        insert(0, SMALL, statuses, users, labels, random);
+        reconcile(SMALL);
+        measureStats(SMALL);
+
+        insert(SMALL, LARGE, statuses, users, labels, random);
+        reconcile(LARGE);
+        measureStats(LARGE);
+        measurePaging(LARGE);
+    }
+
+    private void insert(int from, int to, List<Status> statuses, List<User> users, List<Label> labels,
+                        Random random) {
+        var tasks = new ArrayList<Object[]>();
+        var taskLabels = new ArrayList<Object[]>();
+        for (var id = from + 1L; id <= to; id++) {
+            var assignee = random.nextInt(users.size() + 1);
+            tasks.add(new Object[] {
+                id,
+                "Task " + id,
+                statuses.get(random.nextInt(statuses.size())).getId(),
+                assignee == users.size() ? null : users.get(assignee).getId()
+            });
+            taskLabels.add(new Object[] {id, labels.get(random.nextInt(labels.size())).getId()});
+        }
+        jdbcTemplate.batchUpdate("insert into tasks (id, name, status_id, assignee_id, created_at, updated_at) "
+            + "values (?, ?, ?, ?, current_date, current_timestamp)", tasks);
+        jdbcTemplate.batchUpdate("insert into task_label (task_id, label_id) values (?, ?)", taskLabels);
+    }
+
+    private void reconcile(int tasks) {
+        var started = System.nanoTime();
+        taskCounterService.reconcile();
+        System.out.printf("reconcile over %d tasks: %d ms%n", tasks, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void measureStats(int tasks) throws Exception {
+        for (var i = 0; i < 20; i++) {
+            getStats();
+        }
+
+        var started = System.nanoTime();
+        for (var i = 0; i < CALLS; i++) {
+            getStats();
+        }
+        System.out.printf("GET /api/tasks/stats over %d tasks: %.2f ms per call%n", tasks,
+            (System.nanoTime() - started) / 1e6 / CALLS);
+    }
+
+    private void measurePaging(int tasks) throws Exception {
+        var started = System.nanoTime();
+        String after = null;
+        var pages = 0;
+        do {
+            var request = get("/api/tasks").param("limit", "1000").with(jwt());
+            if (after != null) {
+                request.param("after", after);
+            }
+            after = mockMvc.perform(request)
+                           .andExpect(status().isOk())
+                           .andReturn()
+                           .getResponse()
+                           .getHeader("X-Next-Cursor");
+            pages++;
+        } while (after != null);
+        System.out.printf("paging through /api/tasks over %d tasks: %d pages in %d ms%n", tasks, pages,
+            (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void getStats() throws Exception {
+        mockMvc.perform(get("/api/tasks/stats").with(jwt()))
+               .andExpect(status().isOk());
+    }
+
+    private static Status taskStatus(int i) {
+        var status = new Status();
+        status.setName("Bench status " + i);
+        status.setSlug("bench-" + i);
+        return status;
+    }
+
+    private static User user(int i) {
+        var user = new User();
+        user.setEmail("stats" + i + "@example.com");
+        user.setPassword("password");
+        user.setFirstName("Stats");
+        user.setLastName("User" + i);
+        return user;
+    }
+
+    private static Label label(int i) {
+        var label = new Label();
+        label.setName("Bench label " + i);
+        return label;
+    }
+}
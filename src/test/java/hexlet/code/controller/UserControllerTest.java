@@ -22,10 +22,12 @@ import java.nio.charset.StandardCharsets;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
@@ -141,4 +143,41 @@ class UserControllerTest {
                .andExpect(jsonPath("$.firstName").value(testUser.getFirstName()))
                .andExpect(jsonPath("$.lastName").value(testUser.getLastName()));
     }
+
+    @Test
+    void testBasicAuthAfterPasswordChange() throws Exception {
+        var data = new User();
+        data.setEmail("basic@example.com");
+        data.setPassword("oldpassword");
+        data.setFirstName("Basic");
+        data.setLastName("User");
+        mockMvc.perform(post("/api/users")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(om.writeValueAsString(data)))
+               .andExpect(status().isCreated());
+        var user = userRepository.findByEmail("basic@example.com").orElseThrow();
+
+        mockMvc.perform(get("/api/users/" + user.getId()).with(httpBasic("basic@example.com", "oldpassword")))
+               .andExpect(status().isOk());
+        mockMvc.perform(get("/api/users/" + user.getId()).with(httpBasic("basic@example.com", "oldpassword")))
+               .andExpect(status().isOk());
+
+        var update = new UserUpdateDTO();
+        update.setPassword(JsonNullable.of("newpassword"));
+        mockMvc.perform(put("/api/users/" + user.getId())
+                            .with(token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(om.writeValueAsString(update)))
+               .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/users/" + user.getId()).with(httpBasic("basic@example.com", "oldpassword")))
+               .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/users/" + user.getId()).with(httpBasic("basic@example.com", "newpassword")))
+               .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/users/" + user.getId()).with(token))
+               .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/users").with(httpBasic("basic@example.com", "newpassword")))
+               .andExpect(status().isUnauthorized());
+    }
 }
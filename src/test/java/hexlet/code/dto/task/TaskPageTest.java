@@ -0,0 +1,26 @@
+package hexlet.code.dto.task;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskPageTest {
+
+    @Test
+    void testETagChangesWhenLabelsAreSwapped() {
+        // 1 + 4 and 2 + 3 have the same hash sum
+        assertThat(page(Set.of(1L, 4L)).toETag()).isNotEqualTo(page(Set.of(2L, 3L)).toETag());
+        assertThat(page(Set.of(1L, 4L)).toETag()).isEqualTo(page(Set.of(4L, 1L)).toETag());
+    }
+
+    private static TaskPage page(Set<Long> labelIds) {
+        var task = new TaskDTO();
+        task.setId(1L);
+        task.setVersion(0L);
+        task.setTaskLabelIds(labelIds);
+        return new TaskPage(List.of(task), 1, null);
+    }
+}
@@ -0,0 +1,314 @@
+package hexlet.code.readmodel;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.task.TaskBulkUpdateDTO;
+import hexlet.code.dto.task.TaskCreateDTO;
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskUpdateDTO;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.model.Label;
+import hexlet.code.model.Status;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.StatusRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.jackson.nullable.JsonNullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.JwtRequestPostProcessor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "tasks.read-model.enabled=true")
+@AutoConfigureMockMvc
+class TaskReadModelTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskReadModel taskReadModel;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private JwtRequestPostProcessor token;
+    private Status todo;
+    private Status done;
+    private User user;
+    private Label bug;
+    private Label feature;
+    private final List<Long> created = new ArrayList<>();
+    private TaskDTO login;
+    private TaskDTO notes;
+    private TaskDTO logout;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        user = new User();
+        user.setEmail("reader@example.com");
+        user.setPassword("password");
+        userRepository.save(user);
+        token = jwt().jwt(builder -> builder.subject(user.getEmail()));
+
+        todo = new Status();
+        todo.setName("Read model todo");
+        todo.setSlug("rm-todo");
+        statusRepository.save(todo);
+
+        done = new Status();
+        done.setName("Read model done");
+        done.setSlug("rm-done");
+        statusRepository.save(done);
+
+        bug = new Label();
+        bug.setName("Read model bug");
+        labelRepository.save(bug);
+
+        feature = new Label();
+        feature.setName("Read model feature");
+        labelRepository.save(feature);
+
+        login = create("Fix login page", null, todo, user, Set.of(bug.getId()));
+        notes = create("Write notes", "Release checklist", done, null, Set.of(bug.getId(), feature.getId()));
+        logout = create("Fix logout button", null, done, null, Set.of());
+    }
+
+    @AfterEach
+    void clean() throws Exception {
+        for (var id : created) {
+            mockMvc.perform(delete("/api/tasks/" + id).with(token));
+        }
+        taskRepository.deleteAll();
+        labelRepository.deleteAll();
+        statusRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testFilters() throws Exception {
+        assertThat(taskReadModel.isReady()).isTrue();
+
+        assertThat(find(get("/api/tasks"))).containsExactly(login.getId(), notes.getId(), logout.getId());
+        assertThat(find(get("/api/tasks").param("titleCont", "FIX")))
+            .containsExactly(login.getId(), logout.getId());
+        assertThat(find(get("/api/tasks").param("contentCont", "checklist"))).containsExactly(notes.getId());
+        assertThat(find(get("/api/tasks").param("status", done.getSlug())))
+            .containsExactly(notes.getId(), logout.getId());
+        assertThat(find(get("/api/tasks").param("assigneeId", user.getId().toString())))
+            .containsExactly(login.getId());
+        assertThat(find(get("/api/tasks").param("status", "missing"))).isEmpty();
+    }
+
+    @Test
+    void testPagesAreServedFromMemory() throws Exception {
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        var statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            assertThat(find(get("/api/tasks").param("titleCont", "fix").param("labelId", bug.getId().toString())))
+                .containsExactly(login.getId());
+
+            assertThat(statistics.getPrepareStatementCount()).isZero();
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
+    @Test
+    void testLabels() throws Exception {
+        var labelIds = bug.getId() + "," + feature.getId();
+
+        assertThat(find(get("/api/tasks").param("labelId", feature.getId().toString())))
+            .containsExactly(notes.getId());
+        assertThat(find(get("/api/tasks").param("labelIds", labelIds)))
+            .containsExactly(login.getId(), notes.getId());
+        assertThat(find(get("/api/tasks").param("labelIds", labelIds).param("labelMode", "all")))
+            .containsExactly(notes.getId());
+    }
+
+    @Test
+    void testUpdateAndDelete() throws Exception {
+        var data = new TaskUpdateDTO();
+        data.setTitle(JsonNullable.of("Review logout button"));
+        data.setStatus(JsonNullable.of(todo.getSlug()));
+        data.setTaskLabelIds(JsonNullable.of(Set.of(feature.getId())));
+        mockMvc.perform(put("/api/tasks/" + logout.getId())
+                            .with(token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(data)))
+               .andExpect(status().isOk());
+
+        assertThat(find(get("/api/tasks").param("titleCont", "fix"))).containsExactly(login.getId());
+        assertThat(find(get("/api/tasks").param("titleCont", "review"))).containsExactly(logout.getId());
+        assertThat(find(get("/api/tasks").param("status", todo.getSlug())))
+            .containsExactly(login.getId(), logout.getId());
+        assertThat(find(get("/api/tasks").param("labelId", feature.getId().toString())))
+            .containsExactly(notes.getId(), logout.getId());
+
+        mockMvc.perform(delete("/api/tasks/" + login.getId()).with(token))
+               .andExpect(status().isNoContent());
+
+        assertThat(find(get("/api/tasks"))).containsExactly(notes.getId(), logout.getId());
+        assertThat(find(get("/api/tasks").param("labelId", bug.getId().toString())))
+            .containsExactly(notes.getId());
+    }
+
+    @Test
+    void testBulkUpdate() throws Exception {
+        var data = new TaskBulkUpdateDTO();
+        data.setIds(Set.of(login.getId(), logout.getId()));
+        data.setStatus(done.getSlug());
+        data.setAddLabelIds(Set.of(feature.getId()));
+        mockMvc.perform(patch("/api/tasks/bulk")
+                            .with(token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(data)))
+               .andExpect(status().isOk());
+
+        assertThat(find(get("/api/tasks").param("status", todo.getSlug()))).isEmpty();
+        assertThat(find(get("/api/tasks").param("labelId", feature.getId().toString())))
+            .containsExactly(login.getId(), notes.getId(), logout.getId());
+    }
+
+    @Test
+    void testOutOfOrderTask() throws Exception {
+        // a task created yesterday whose commit is only seen after the newer ones
+        jdbcTemplate.update("insert into tasks (id, name, status_id, created_at, updated_at) "
+            + "values (next value for tasks_seq, 'Late commit', ?, dateadd('DAY', -1, current_date), "
+            + "current_timestamp)", todo.getId());
+        var lateId = jdbcTemplate.queryForObject("select id from tasks where name = 'Late commit'", Long.class);
+        created.add(lateId);
+        var body = mockMvc.perform(get("/api/tasks/" + lateId).with(jwt()))
+                          .andExpect(status().isOk())
+                          .andReturn()
+                          .getResponse()
+                          .getContentAsString();
+        eventPublisher.publishEvent(new TaskChangedEvent(null, objectMapper.readValue(body, TaskDTO.class)));
+
+        assertThat(taskReadModel.isReady()).isFalse();
+        var expected = List.of(lateId, login.getId(), notes.getId(), logout.getId());
+        assertThat(cursorPages()).isEqualTo(expected);
+        assertThat(offsetPages()).isEqualTo(expected);
+
+        taskReadModel.compact();
+
+        assertThat(taskReadModel.isReady()).isTrue();
+        assertThat(cursorPages()).isEqualTo(expected);
+        assertThat(offsetPages()).isEqualTo(expected);
+
+        mockMvc.perform(delete("/api/tasks/" + notes.getId()).with(token))
+               .andExpect(status().isNoContent());
+        taskReadModel.compact();
+
+        assertThat(cursorPages()).containsExactly(lateId, login.getId(), logout.getId());
+        assertThat(find(get("/api/tasks").param("labelId", bug.getId().toString()))).containsExactly(login.getId());
+        assertThat(find(get("/api/tasks").param("status", done.getSlug()))).containsExactly(logout.getId());
+    }
+
+    private List<Long> cursorPages() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/api/tasks").param("limit", "1").with(jwt());
+            if (cursor != null) {
+                request.param("after", cursor);
+            }
+            var response = mockMvc.perform(request)
+                                  .andExpect(status().isOk())
+                                  .andReturn()
+                                  .getResponse();
+            List<TaskDTO> tasks = objectMapper.readValue(response.getContentAsString(), new TypeReference<>() { });
+            tasks.forEach(task -> ids.add(task.getId()));
+            cursor = response.getHeader("X-Next-Cursor");
+        } while (cursor != null);
+        return ids;
+    }
+
+    private List<Long> offsetPages() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (var start = 0; start < 4; start++) {
+            ids.addAll(find(get("/api/tasks").param("_start", String.valueOf(start))
+                                             .param("_end", String.valueOf(start + 1))));
+        }
+        return ids;
+    }
+
+    private TaskDTO create(String title, String content, Status status, User assignee, Set<Long> labelIds)
+        throws Exception {
+        var request = new TaskCreateDTO();
+        request.setTitle(title);
+        request.setContent(content);
+        request.setStatus(status.getSlug());
+        request.setAssigneeId(assignee == null ? null : assignee.getId());
+        request.setTaskLabelIds(labelIds);
+
+        var body = mockMvc.perform(post("/api/tasks")
+                                       .with(token)
+                                       .contentType(MediaType.APPLICATION_JSON)
+                                       .content(objectMapper.writeValueAsString(request)))
+                          .andExpect(status().isCreated())
+                          .andReturn()
+                          .getResponse()
+                          .getContentAsString();
+        var task = objectMapper.readValue(body, TaskDTO.class);
+        created.add(task.getId());
+        return task;
+    }
+
+    private List<Long> find(MockHttpServletRequestBuilder request) throws Exception {
+        var body = mockMvc.perform(request.with(jwt()))
+                          .andExpect(status().isOk())
+                          .andReturn()
+                          .getResponse()
+                          .getContentAsString();
+        List<TaskDTO> tasks = objectMapper.readValue(body, new TypeReference<>() { });
+        return tasks.stream().map(TaskDTO::getId).toList();
+    }
+}
@@ -0,0 +1,122 @@
+package hexlet.code.search;
+
+import hexlet.code.config.TaskProperties;
+import hexlet.code.dto.task.TaskFilter;
+import hexlet.code.dto.task.TaskPageRequest;
+import hexlet.code.model.Status;
+import hexlet.code.repository.StatusRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run with ./gradlew benchmark. Compares titleCont searches with and without the trigram index.
+@Tag("benchmark")
+@SpringBootTest
+class TaskSearchBenchmark {
+    private static final int TASKS = 200_000;
+    private static final int QUERIES = 200;
+    private static final String[] WORDS = {
+        "fix", "login", "page", "release", "notes", "deploy", "script", "review", "button", "report",
+        "cache", "index", "search", "upload", "export", "import", "billing", "invoice", "profile", "avatar"
+    };
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private TaskProperties taskProperties;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void clean() {
+        // in chunks, a single delete of every row runs the in-memory database out of heap
+        for (var from = 0; from < TASKS; from += 10_000) {
+            jdbcTemplate.update("delete from tasks where id <= ?", from + 10_000L);
+        }
+        statusRepository.deleteAll();
+        taskSearchIndex.reload();
+    }
+
+    @Test
+    void titleSearch() {
+        var status = new Status();
+        status.setName("Bench");
+        status.setSlug("bench");
+        statusRepository.save(status);
+
+        var random = new Random(42);
+        var rows = new ArrayList<Object[]>(TASKS);
+        for (var i = 0; i < TASKS; i++) {
+            var title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            rows.add(new Object[] {i + 1L, title, status.getId()});
+        }
+        jdbcTemplate.batchUpdate("insert into tasks (id, name, status_id, created_at, updated_at) "
+            + "values (?, ?, ?, current_date, timestamp '2000-01-01 00:00:00')", rows);
+
+        var started = System.nanoTime();
+        taskSearchIndex.reload();
+        System.out.printf("indexed %d tasks in %d ms%n", TASKS, (System.nanoTime() - started) / 1_000_000);
+
+        // a unique title plus a selective word pair, both within max-candidates
+        var queries = new ArrayList<String>();
+        for (var i = 0; i < QUERIES; i++) {
+            queries.add(i % 2 == 0 ? " " + random.nextInt(TASKS) : WORDS[i % WORDS.length] + " 1999");
+        }
+
+        var indexed = measure("with index", queries);
+        taskProperties.getSearch().setEnabled(false);
+        try {
+            var scanned = measure("without index", queries);
+            assertThat(indexed).isEqualTo(scanned);
+        } finally {
+            taskProperties.getSearch().setEnabled(true);
+        }
+        assertThat(taskRepository.count()).isEqualTo(TASKS);
+    }
+
+    private List<Long> measure(String label, List<String> queries) {
+        var totals = new ArrayList<Long>();
+        for (var query : queries.subList(0, 10)) {
+            search(query);
+        }
+
+        var started = System.nanoTime();
+        for (var query : queries) {
+            totals.add(search(query));
+        }
+        var millis = (System.nanoTime() - started) / 1e6;
+        System.out.printf("%s: %d queries over %d tasks, %.2f ms per query%n", label, queries.size(), TASKS,
+            millis / queries.size());
+        return totals;
+    }
+
+    private long search(String query) {
+        var filter = new TaskFilter();
+        filter.setTitleCont(query);
+        var page = new TaskPageRequest();
+        page.setLimit(20);
+        return taskService.getPage(filter, page).getTotal();
+    }
+}
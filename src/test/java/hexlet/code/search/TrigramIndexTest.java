@@ -0,0 +1,52 @@
+package hexlet.code.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexTest {
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.add(1L, "Fix login page");
+        index.add(2L, "Write release notes");
+        index.add(3L, "Fix logout button");
+    }
+
+    @Test
+    void testCandidates() {
+        assertThat(index.candidates("fix")).containsExactly(1L, 3L);
+        assertThat(index.candidates("LOGIN")).containsExactly(1L);
+        assertThat(index.candidates("release")).containsExactly(2L);
+        assertThat(index.candidates("missing")).isEmpty();
+    }
+
+    @Test
+    void testShortQuery() {
+        assertThat(index.candidates("lo")).isNull();
+        assertThat(index.candidates(null)).isNull();
+    }
+
+    @Test
+    void testUpdate() {
+        index.remove(1L, "Fix login page");
+        index.add(1L, "Review login page");
+
+        assertThat(index.candidates("fix")).containsExactly(3L);
+        assertThat(index.candidates("review")).containsExactly(1L);
+
+        index.remove(3L, "Fix logout button");
+        assertThat(index.candidates("fix")).isEmpty();
+    }
+
+    @Test
+    void testLongIds() {
+        var id = Integer.MAX_VALUE + 10L;
+        index.add(id, "Fix deploy script");
+
+        assertThat(index.candidates("fix")).containsExactly(1L, 3L, id);
+    }
+}
@@ -0,0 +1,66 @@
+package hexlet.code.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RankKeysTest {
+
+    @Test
+    void testBetween() {
+        assertThat(RankKeys.between(null, null)).isEqualTo("i");
+        assertThat(RankKeys.between("a", "c")).isEqualTo("b");
+        assertThat(RankKeys.between("a", "b")).isEqualTo("ai");
+        assertThat(RankKeys.between("a", "a1")).isEqualTo("a0i");
+        assertThat(RankKeys.between(null, "01")).isEqualTo("00i");
+        assertThat(RankKeys.between("zz", null)).isEqualTo("zzi");
+    }
+
+    @Test
+    void testInvalidBounds() {
+        assertThatThrownBy(() -> RankKeys.between("b", "a")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RankKeys.between("a", "a")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RankKeys.between("A", null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testRepeatedInsertsStayOrdered() {
+        List<String> keys = new ArrayList<>(List.of(RankKeys.between(null, null)));
+        for (var i = 0; i < 200; i++) {
+            keys.add(0, RankKeys.between(null, keys.getFirst()));
+            keys.add(RankKeys.between(keys.getLast(), null));
+            keys.add(2, RankKeys.between(keys.get(1), keys.get(2)));
+        }
+
+        assertThat(keys).isSorted().doesNotHaveDuplicates();
+        assertThat(keys).noneMatch(key -> key.endsWith("0"));
+    }
+
+    @Test
+    void testAfter() {
+        assertThat(RankKeys.after(null, 3)).containsExactly("i", "i001", "i002");
+        assertThat(RankKeys.after("i00z", 1)).containsExactly("i01");
+        assertThat(RankKeys.after("zzzz", 1)).containsExactly("zzzzi");
+
+        List<String> keys = new ArrayList<>(List.of("b"));
+        for (var i = 0; i < 100_000; i++) {
+            keys.add(RankKeys.after(keys.getLast(), 1).getFirst());
+        }
+        assertThat(keys).isSorted().doesNotHaveDuplicates();
+        assertThat(keys).allMatch(key -> key.length() <= 4 && !key.endsWith("0"));
+    }
+
+    @Test
+    void testSpread() {
+        assertThat(RankKeys.spread(0)).isEmpty();
+        assertThat(RankKeys.spread(1)).containsExactly("i");
+
+        var keys = RankKeys.spread(5000);
+        assertThat(keys).hasSize(5000).isSorted().doesNotHaveDuplicates();
+        assertThat(keys).allMatch(key -> key.length() <= 3 && !key.endsWith("0"));
+    }
+}